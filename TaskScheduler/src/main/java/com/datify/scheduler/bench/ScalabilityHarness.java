@@ -0,0 +1,177 @@
+package com.datify.scheduler.bench;
+
+import com.datify.scheduler.config.CostConfig;
+import com.datify.scheduler.config.SchedulerConfig;
+import com.datify.scheduler.model.ScheduleState;
+import com.datify.scheduler.planner.FeasibilityPresolver;
+import com.datify.scheduler.planner.SearchMonitor;
+import com.datify.scheduler.planner.strategy.*;
+import com.datify.scheduler.util.ValidationReport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Runs every planning strategy over a grid of generated workloads and writes one CSV row per run: runtime,
+ * nodes explored, peak heap and the cost and completeness of the result. Comparing two CSVs from before and
+ * after a change to the search code shows scaling curves and regressions.
+ * <p>
+ * Usage: {@code ScalabilityHarness [output.csv] [timeLimitMs] [seedsPerWorkload]}. Workloads the pre-solve
+ * proves infeasible are skipped. Peak heap is the sum of the peaks of the heap pools since the run started,
+ * taken after a GC, so it is an upper bound that includes garbage not yet collected.
+ */
+@Slf4j
+public class ScalabilityHarness {
+    private static final Path DEFAULT_OUTPUT = Path.of("build", "scalability.csv");
+    private static final long DEFAULT_TIME_LIMIT_MS = 5000;
+    private static final int DEFAULT_SEEDS = 1;
+
+    private static final int[] TASK_COUNTS = {10, 20, 40, 80, 160};
+    private static final double[] DEPENDENCY_DENSITIES = {0.0, 0.3};
+    private static final double[] UTILISATIONS = {0.5, 0.85};
+    private static final int CHAIN_DEPTH = 4;
+    private static final double WINDOW_TIGHTNESS = 0.5;
+    private static final int MIN_DURATION_MINUTES = 30;
+    private static final int MAX_DURATION_MINUTES = 180;
+
+    private static final int ADAPTIVE_TASK_THRESHOLD = 8;
+
+    private static final String HEADER = "strategy,tasks,seed,duration_distribution,dependency_density,chain_depth,"
+            + "window_tightness,utilisation,horizon_days,runtime_ms,nodes,peak_heap_bytes,cost,placed,complete,"
+            + "proven_optimal,limit_reached";
+
+    private final CostConfig costConfig = CostConfig.defaultConfig();
+    private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+
+    public static void main(String[] args) throws IOException {
+        Path output = args.length > 0 ? Path.of(args[0]) : DEFAULT_OUTPUT;
+        long timeLimitMs = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_TIME_LIMIT_MS;
+        int seeds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SEEDS;
+        new ScalabilityHarness().run(output, timeLimitMs, seeds);
+    }
+
+    public void run(Path output, long timeLimitMs, int seeds) throws IOException {
+        if (timeLimitMs <= 0) throw new IllegalArgumentException("timeLimitMs must be > 0");
+        if (seeds <= 0) throw new IllegalArgumentException("seeds must be > 0");
+        WorkloadGenerator generator = new WorkloadGenerator(SchedulerConfig.defaultConfig().withMaxTimeMs(timeLimitMs));
+        List<WorkloadSpec> specs = grid(seeds);
+
+        warmUp(generator);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        int measured = 0;
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(output))) {
+            writer.println(HEADER);
+            for (WorkloadSpec spec : specs) {
+                Workload workload = generator.generate(spec);
+                ValidationReport report = new FeasibilityPresolver(workload.schedulerConfig()).check(workload.startState());
+                if (!report.isValid()) {
+                    log.info("Skipping infeasible workload {}: {}", spec.label(), report.issues().get(0).message());
+                    continue;
+                }
+                for (Map.Entry<String, IPlanningStrategy> strategy : strategies(workload.schedulerConfig(), spec.taskCount()).entrySet()) {
+                    writer.println(measure(strategy.getKey(), strategy.getValue(), workload));
+                    writer.flush();
+                }
+                measured++;
+            }
+        }
+        log.info("Wrote results for {} of {} workloads to {}", measured, specs.size(), output.toAbsolutePath());
+    }
+
+    private List<WorkloadSpec> grid(int seeds) {
+        List<WorkloadSpec> specs = new ArrayList<>();
+        for (int taskCount : TASK_COUNTS) {
+            for (WorkloadSpec.DurationDistribution distribution : WorkloadSpec.DurationDistribution.values()) {
+                for (double density : DEPENDENCY_DENSITIES) {
+                    for (double utilisation : UTILISATIONS) {
+                        for (int seed = 1; seed <= seeds; seed++) {
+                            specs.add(new WorkloadSpec(seed, taskCount, distribution, MIN_DURATION_MINUTES, MAX_DURATION_MINUTES,
+                                    density, Math.min(CHAIN_DEPTH, taskCount), WINDOW_TIGHTNESS, utilisation));
+                        }
+                    }
+                }
+            }
+        }
+        return specs;
+    }
+
+    /**
+     * The strategies as the UI composes them, plus their parts on their own. Dynamic programming only runs with a
+     * local cost model and on its own only up to its task limit, rolling horizon only on workloads that needed
+     * more than the abstract week.
+     */
+    private Map<String, IPlanningStrategy> strategies(SchedulerConfig schedulerConfig, int taskCount) {
+        Map<String, IPlanningStrategy> strategies = new LinkedHashMap<>();
+        Function<SchedulerConfig, IPlanningStrategy> backtracking =
+                config -> new BacktrackingStrategy(config, costConfig, new GreedyStrategy(config, costConfig));
+        GreedyStrategy greedy = new GreedyStrategy(schedulerConfig, costConfig);
+        IPlanningStrategy aStar = new AStarStrategy.AStarBuilder(schedulerConfig, costConfig)
+                .warmStart(greedy).expansionOrder(AStarStrategy.ExpansionOrder.MRV).build();
+
+        strategies.put("greedy", greedy);
+        strategies.put("backtracking", backtracking.apply(schedulerConfig));
+        strategies.put("backtracking-restarts", new BacktrackingStrategy.BacktrackingBuilder(schedulerConfig, costConfig)
+                .warmStart(greedy).restarts(1).build());
+        strategies.put("astar-mrv", aStar);
+        strategies.put("astar-parallel", new AStarStrategy.AStarBuilder(schedulerConfig, costConfig)
+                .warmStart(greedy).expansionOrder(AStarStrategy.ExpansionOrder.MRV)
+                .threads(Runtime.getRuntime().availableProcessors()).build());
+        strategies.put("astar-weighted", new AStarStrategy.AStarBuilder(schedulerConfig, costConfig)
+                .warmStart(greedy).expansionOrder(AStarStrategy.ExpansionOrder.MRV).weight(1.5).build());
+        IPlanningStrategy portfolio = new PortfolioStrategy(List.of(
+                backtracking.apply(schedulerConfig),
+                new BacktrackingStrategy.BacktrackingBuilder(schedulerConfig, costConfig).warmStart(greedy).restarts(1).build(),
+                aStar), schedulerConfig.maxTimeMs());
+        if (DynamicProgrammingStrategy.supports(schedulerConfig, costConfig)) {
+            DynamicProgrammingStrategy dynamicProgramming = new DynamicProgrammingStrategy(schedulerConfig, costConfig, greedy);
+            if (taskCount <= DynamicProgrammingStrategy.MAX_TASKS) {
+                strategies.put("dynamic-programming", dynamicProgramming);
+            }
+            portfolio = new AdaptiveStrategy(dynamicProgramming, portfolio, ADAPTIVE_TASK_THRESHOLD);
+        }
+        strategies.put("portfolio", portfolio);
+        if (schedulerConfig.horizon() != null) {
+            strategies.put("rolling-horizon", new RollingHorizonStrategy(schedulerConfig, costConfig, 14, 7, backtracking));
+        }
+        return strategies;
+    }
+
+    private void warmUp(WorkloadGenerator generator) {
+        Workload workload = generator.generate(new WorkloadSpec(0, 10, WorkloadSpec.DurationDistribution.UNIFORM,
+                MIN_DURATION_MINUTES, MAX_DURATION_MINUTES, 0.3, 3, WINDOW_TIGHTNESS, 0.5));
+        for (IPlanningStrategy strategy : strategies(workload.schedulerConfig(), workload.tasks().size()).values()) {
+            strategy.findSchedule(workload.startState());
+        }
+    }
+
+    private String measure(String name, IPlanningStrategy strategy, Workload workload) {
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        SearchMonitor monitor = new SearchMonitor();
+        long start = System.nanoTime();
+        ScheduleState result = strategy.findSchedule(workload.startState(), monitor);
+        long runtimeMs = (System.nanoTime() - start) / 1_000_000;
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+        WorkloadSpec spec = workload.spec();
+        int horizonDays = workload.schedulerConfig().horizon() == null ? 7 : workload.schedulerConfig().horizon().days();
+        log.info("{} on {}: cost {} in {}ms", name, spec.label(), result.costSoFar(), runtimeMs);
+        return String.format(Locale.ROOT, "%s,%d,%d,%s,%.2f,%d,%.2f,%.2f,%d,%d,%d,%d,%d,%d,%b,%b,%b",
+                name, spec.taskCount(), spec.seed(), spec.durationDistribution(), spec.dependencyDensity(), spec.chainDepth(),
+                spec.windowTightness(), spec.utilisation(), horizonDays, runtimeMs, monitor.getNodesExplored(), peakHeap,
+                result.costSoFar(), result.placedTasks().size(), result.isComplete(), monitor.isProvenOptimal(),
+                monitor.isLimitReached());
+    }
+}
@@ -0,0 +1,27 @@
+package com.datify.scheduler.bench;
+
+import com.datify.scheduler.config.SchedulerConfig;
+import com.datify.scheduler.model.ScheduleState;
+import com.datify.scheduler.model.Task;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A generated task set together with the scheduler configuration it was sized for.
+ */
+public record Workload(WorkloadSpec spec, SchedulerConfig schedulerConfig, Map<UUID, Task> tasks) {
+
+    public Workload {
+        if (spec == null) throw new IllegalArgumentException("spec must not be null");
+        if (schedulerConfig == null) throw new IllegalArgumentException("schedulerConfig must not be null");
+        tasks = tasks == null ? Map.of() : Collections.unmodifiableMap(new LinkedHashMap<>(tasks));
+    }
+
+    public ScheduleState startState() {
+        return new ScheduleState(new HashMap<>(), new LinkedHashMap<>(tasks), 0, 0);
+    }
+}
@@ -0,0 +1,121 @@
+package com.datify.scheduler.bench;
+
+import com.datify.scheduler.config.PlanningHorizon;
+import com.datify.scheduler.config.SchedulerConfig;
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.model.TimeSlot;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Generates reproducible synthetic task sets for scaling experiments. Task ids, durations, dependencies and
+ * ideal windows all come from the spec's seed. The horizon is sized to the work: the abstract week while the
+ * tasks fit into it at the requested utilisation, otherwise as many real days as needed, and the work day is
+ * then shortened so total duration over total work time matches the utilisation.
+ */
+public class WorkloadGenerator {
+    private static final LocalDate HORIZON_START = LocalDate.of(2030, 1, 7);
+    private static final int WEEK_DAYS = 7;
+
+    private final SchedulerConfig baseConfig;
+
+    /**
+     * {@code baseConfig} supplies the work start, slot size, costs and limits; its work end is the longest
+     * work day a workload may get.
+     */
+    public WorkloadGenerator(SchedulerConfig baseConfig) {
+        if (baseConfig == null) throw new IllegalArgumentException("baseConfig must not be null");
+        this.baseConfig = baseConfig;
+    }
+
+    public Workload generate(WorkloadSpec spec) {
+        if (spec == null) throw new IllegalArgumentException("spec must not be null");
+        int slotMinutes = baseConfig.timeSlotMinutes();
+        if (spec.maxDurationMinutes() > baseConfig.workDayMinutes()) {
+            throw new IllegalArgumentException("maxDurationMinutes must fit into a work day of " + baseConfig.workDayMinutes() + " minutes");
+        }
+        Random random = new Random(spec.seed());
+
+        int[] durations = new int[spec.taskCount()];
+        int totalMinutes = 0;
+        int longest = 0;
+        for (int i = 0; i < durations.length; i++) {
+            durations[i] = drawDuration(spec, slotMinutes, random);
+            totalMinutes += durations[i];
+            longest = Math.max(longest, durations[i]);
+        }
+
+        int days = Math.max(WEEK_DAYS, (int) Math.ceil(totalMinutes / (spec.utilisation() * baseConfig.workDayMinutes())));
+        int workDayMinutes = roundUp((int) Math.ceil(totalMinutes / (spec.utilisation() * days)), slotMinutes);
+        workDayMinutes = Math.min(baseConfig.workDayMinutes(), Math.max(workDayMinutes, roundUp(longest, slotMinutes)));
+        SchedulerConfig schedulerConfig = new SchedulerConfig(baseConfig.workStart(),
+                baseConfig.workStart().plusMinutes(workDayMinutes), slotMinutes, baseConfig.taskPlacementCost(),
+                baseConfig.idealTimeslotMissPenalty(), baseConfig.maxNodes(), baseConfig.maxTimeMs(),
+                days == WEEK_DAYS ? null : new PlanningHorizon(HORIZON_START, days));
+
+        int[] levels = new int[spec.taskCount()];
+        List<List<UUID>> idsByLevel = new ArrayList<>();
+        Map<UUID, Task> tasks = new LinkedHashMap<>();
+        for (int i = 0; i < durations.length; i++) {
+            UUID id = new UUID(spec.seed(), i);
+            Set<UUID> dependencyIds = Set.of();
+            if (i < spec.chainDepth()) {
+                levels[i] = i;
+            } else if (spec.chainDepth() > 1 && random.nextDouble() < spec.dependencyDensity()) {
+                levels[i] = 1 + random.nextInt(spec.chainDepth() - 1);
+            }
+            if (levels[i] > 0) {
+                List<UUID> candidates = idsByLevel.get(levels[i] - 1);
+                dependencyIds = Set.of(candidates.get(random.nextInt(candidates.size())));
+            }
+            if (idsByLevel.size() == levels[i]) {
+                idsByLevel.add(new ArrayList<>());
+            }
+            idsByLevel.get(levels[i]).add(id);
+
+            tasks.put(id, new Task.TaskBuilder("task-" + i)
+                    .id(id)
+                    .duration(Duration.ofMinutes(durations[i]))
+                    .dependencyIds(dependencyIds)
+                    .idealTimeWindows(List.of(drawWindow(spec, durations[i], workDayMinutes, slotMinutes, random)))
+                    .build());
+        }
+        return new Workload(spec, schedulerConfig, tasks);
+    }
+
+    private int drawDuration(WorkloadSpec spec, int slotMinutes, Random random) {
+        int minSlots = Math.max(1, roundUp(spec.minDurationMinutes(), slotMinutes) / slotMinutes);
+        int maxSlots = Math.max(minSlots, spec.maxDurationMinutes() / slotMinutes);
+        int slots = switch (spec.durationDistribution()) {
+            case UNIFORM -> minSlots + random.nextInt(maxSlots - minSlots + 1);
+            case SHORT_BIASED -> {
+                int drawn = minSlots;
+                while (drawn < maxSlots && random.nextBoolean()) {
+                    drawn++;
+                }
+                yield drawn;
+            }
+        };
+        return slots * slotMinutes;
+    }
+
+    private TimeSlot drawWindow(WorkloadSpec spec, int duration, int workDayMinutes, int slotMinutes, Random random) {
+        int slack = workDayMinutes - duration;
+        int length = duration + roundDown((int) Math.round((1 - spec.windowTightness()) * slack), slotMinutes);
+        int offset = random.nextInt((workDayMinutes - length) / slotMinutes + 1) * slotMinutes;
+        LocalTime start = baseConfig.workStart().plusMinutes(offset);
+        return new TimeSlot(start, start.plusMinutes(length), DayOfWeek.of(1 + random.nextInt(WEEK_DAYS)));
+    }
+
+    private static int roundUp(int minutes, int step) {
+        return (minutes + step - 1) / step * step;
+    }
+
+    private static int roundDown(int minutes, int step) {
+        return minutes / step * step;
+    }
+}
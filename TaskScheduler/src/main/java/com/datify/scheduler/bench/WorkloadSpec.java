@@ -0,0 +1,43 @@
+package com.datify.scheduler.bench;
+
+/**
+ * Parameters of a generated workload; the same spec always generates the same tasks.
+ *
+ * @param dependencyDensity    share of tasks, besides the guaranteed chain, that depend on earlier work (0..1)
+ * @param chainDepth           number of tasks on the longest dependency chain
+ * @param windowTightness      0 gives every task the whole work day as ideal window, 1 a window exactly its duration
+ * @param utilisation          total task duration as a share of the work time in the horizon (0..1]
+ */
+public record WorkloadSpec(
+        long seed,
+        int taskCount,
+        DurationDistribution durationDistribution,
+        int minDurationMinutes,
+        int maxDurationMinutes,
+        double dependencyDensity,
+        int chainDepth,
+        double windowTightness,
+        double utilisation
+) {
+    /**
+     * {@link #UNIFORM} draws every duration equally often, {@link #SHORT_BIASED} halves the chance with every
+     * slot of extra length, so most tasks are short and a few are long.
+     */
+    public enum DurationDistribution { UNIFORM, SHORT_BIASED }
+
+    public WorkloadSpec {
+        if (taskCount <= 0) throw new IllegalArgumentException("taskCount must be > 0");
+        if (durationDistribution == null) throw new IllegalArgumentException("durationDistribution must not be null");
+        if (minDurationMinutes <= 0) throw new IllegalArgumentException("minDurationMinutes must be > 0");
+        if (maxDurationMinutes < minDurationMinutes) throw new IllegalArgumentException("maxDurationMinutes must be >= minDurationMinutes");
+        if (!(dependencyDensity >= 0 && dependencyDensity <= 1)) throw new IllegalArgumentException("dependencyDensity must be in [0, 1]");
+        if (chainDepth <= 0 || chainDepth > taskCount) throw new IllegalArgumentException("chainDepth must be in [1, taskCount]");
+        if (!(windowTightness >= 0 && windowTightness <= 1)) throw new IllegalArgumentException("windowTightness must be in [0, 1]");
+        if (!(utilisation > 0 && utilisation <= 1)) throw new IllegalArgumentException("utilisation must be in (0, 1]");
+    }
+
+    public String label() {
+        return "n=%d dur=%s[%d-%d] deps=%.2f depth=%d tight=%.2f util=%.2f seed=%d".formatted(taskCount, durationDistribution,
+                minDurationMinutes, maxDurationMinutes, dependencyDensity, chainDepth, windowTightness, utilisation, seed);
+    }
+}
@@ -1,13 +1,34 @@
 package com.datify.scheduler.config;
 
-public record CostConfig(int taskPlacementCost, int idealTimeslotMissPenalty) {
+import com.datify.scheduler.cost.CostTerm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The base placement cost and ideal-window penalty every schedule pays, plus optional soft-constraint
+ * {@link CostTerm terms} on top.
+ */
+public record CostConfig(int taskPlacementCost, int idealTimeslotMissPenalty, List<CostTerm> terms) {
 
     public CostConfig {
         if (taskPlacementCost < 0) throw new IllegalArgumentException("taskPlacementCost must be >= 0");
         if (idealTimeslotMissPenalty < 0) throw new IllegalArgumentException("idealTimeslotMissPenalty must be >= 0");
+        terms = terms == null ? List.of() : List.copyOf(terms);
+    }
+
+    public CostConfig(int taskPlacementCost, int idealTimeslotMissPenalty) {
+        this(taskPlacementCost, idealTimeslotMissPenalty, List.of());
     }
 
     public static CostConfig defaultConfig() {
         return new CostConfig(10, 10);
     }
+
+    public CostConfig withTerm(CostTerm term) {
+        if (term == null) throw new IllegalArgumentException("term must not be null");
+        List<CostTerm> extended = new ArrayList<>(terms);
+        extended.add(term);
+        return new CostConfig(taskPlacementCost, idealTimeslotMissPenalty, extended);
+    }
 }
@@ -0,0 +1,53 @@
+package com.datify.scheduler.config;
+
+import com.datify.scheduler.model.TimeSlot;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+public record PlanningHorizon(LocalDate startDate, int days) {
+
+    public PlanningHorizon {
+        if (startDate == null) throw new IllegalArgumentException("startDate must not be null");
+        if (days <= 0) throw new IllegalArgumentException("days must be > 0");
+    }
+
+    public static PlanningHorizon weeksFromNextMonday(LocalDate today, int weeks) {
+        return new PlanningHorizon(today.with(TemporalAdjusters.next(DayOfWeek.MONDAY)), weeks * 7);
+    }
+
+    public LocalDate endDateExclusive() {
+        return startDate.plusDays(days);
+    }
+
+    public List<LocalDate> dates() {
+        return startDate.datesUntil(endDateExclusive()).toList();
+    }
+
+    /**
+     * Dated occurrences of weekly template slots: each template recurs on every matching date.
+     */
+    public List<TimeSlot> occurrences(List<TimeSlot> weeklySlots) {
+        List<TimeSlot> occurrences = new ArrayList<>();
+        for (LocalDate date : dates()) {
+            for (TimeSlot weekly : weeklySlots) {
+                if (weekly.dayOfWeek() == date.getDayOfWeek()) {
+                    occurrences.add(TimeSlot.on(date, weekly.start(), weekly.end()));
+                }
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Sub-horizon of up to {@code windowDays} starting at {@code from}, clipped to this horizon.
+     */
+    public PlanningHorizon window(LocalDate from, int windowDays) {
+        LocalDate end = from.plusDays(windowDays);
+        if (end.isAfter(endDateExclusive())) end = endDateExclusive();
+        return new PlanningHorizon(from, (int) (end.toEpochDay() - from.toEpochDay()));
+    }
+}
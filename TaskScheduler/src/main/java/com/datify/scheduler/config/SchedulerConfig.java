@@ -2,6 +2,10 @@ package com.datify.scheduler.config;
 
 import java.time.LocalTime;
 
+/**
+ * {@code horizon} is optional: without it the planner schedules into one abstract week of
+ * {@link java.time.DayOfWeek} values, with it into the real dates of the horizon.
+ */
 public record SchedulerConfig(
         LocalTime workStart,
         LocalTime workEnd,
@@ -9,7 +13,8 @@ public record SchedulerConfig(
         int taskPlacementCost,
         int idealTimeslotMissPenalty,
         int maxNodes,
-        long maxTimeMs
+        long maxTimeMs,
+        PlanningHorizon horizon
 ) {
     public SchedulerConfig {
         if (workStart == null) throw new IllegalArgumentException("workStart must not be null");
@@ -22,6 +27,11 @@ public record SchedulerConfig(
         if (maxTimeMs < 0) throw new IllegalArgumentException("maxTimeMs must be >= 0");
     }
 
+    public SchedulerConfig(LocalTime workStart, LocalTime workEnd, int timeSlotMinutes, int taskPlacementCost,
+                           int idealTimeslotMissPenalty, int maxNodes, long maxTimeMs) {
+        this(workStart, workEnd, timeSlotMinutes, taskPlacementCost, idealTimeslotMissPenalty, maxNodes, maxTimeMs, null);
+    }
+
     public static SchedulerConfig defaultConfig() {
         return new SchedulerConfig(
                 LocalTime.of(8, 0),
@@ -33,4 +43,18 @@ public record SchedulerConfig(
                 60000
         );
     }
+
+    public SchedulerConfig withHorizon(PlanningHorizon horizon) {
+        return new SchedulerConfig(workStart, workEnd, timeSlotMinutes, taskPlacementCost,
+                idealTimeslotMissPenalty, maxNodes, maxTimeMs, horizon);
+    }
+
+    public SchedulerConfig withMaxTimeMs(long maxTimeMs) {
+        return new SchedulerConfig(workStart, workEnd, timeSlotMinutes, taskPlacementCost,
+                idealTimeslotMissPenalty, maxNodes, maxTimeMs, horizon);
+    }
+
+    public int workDayMinutes() {
+        return (workEnd.toSecondOfDay() - workStart.toSecondOfDay()) / 60;
+    }
 }
@@ -0,0 +1,41 @@
+package com.datify.scheduler.cost;
+
+import com.datify.scheduler.model.PackedSlot;
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.model.TimeSlot;
+
+/**
+ * Discourages long runs without a break: every block of back-to-back placements costs {@code penaltyPerHour}
+ * per full hour it runs beyond {@code maxContiguousMinutes}. Placing a task can merge the blocks on either
+ * side of it, so the delta is the cost of the merged block minus the cost of its parts.
+ */
+public record BackToBackTerm(int maxContiguousMinutes, int penaltyPerHour) implements CostTerm {
+
+    public BackToBackTerm {
+        if (maxContiguousMinutes <= 0) throw new IllegalArgumentException("maxContiguousMinutes must be > 0");
+        if (penaltyPerHour < 0) throw new IllegalArgumentException("penaltyPerHour must be >= 0");
+    }
+
+    @Override
+    public int placementDelta(Task task, TimeSlot timeSlot, ScheduleView schedule) {
+        int start = timeSlot.startMinute();
+        int end = timeSlot.endMinute();
+        int blockStart = start;
+        for (long left = schedule.slotAtOrBefore(blockStart - 1);
+             left != ScheduleView.NONE && PackedSlot.end(left) == blockStart;
+             left = schedule.slotAtOrBefore(blockStart - 1)) {
+            blockStart = PackedSlot.start(left);
+        }
+        int blockEnd = end;
+        for (long right = schedule.slotAtOrAfter(blockEnd);
+             right != ScheduleView.NONE && PackedSlot.start(right) == blockEnd;
+             right = schedule.slotAtOrAfter(blockEnd)) {
+            blockEnd = PackedSlot.end(right);
+        }
+        return blockCost(blockEnd - blockStart) - blockCost(start - blockStart) - blockCost(blockEnd - end);
+    }
+
+    private int blockCost(int minutes) {
+        return penaltyPerHour * (Math.max(0, minutes - maxContiguousMinutes) / 60);
+    }
+}
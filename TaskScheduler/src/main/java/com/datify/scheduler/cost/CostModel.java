@@ -0,0 +1,87 @@
+package com.datify.scheduler.cost;
+
+import com.datify.scheduler.config.CostConfig;
+import com.datify.scheduler.config.SchedulerConfig;
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.model.TimeSlot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The schedule cost as a sum of terms: the flat placement cost, the ideal-window penalty and whatever extra
+ * terms the {@link CostConfig} adds. Searches add one {@link #placementDelta} per placement and estimate the
+ * rest with {@link #remainingLowerBound}, which stays admissible as long as every term's bound is.
+ */
+public class CostModel {
+    private final PlacementCostTerm placementTerm;
+    private final IdealWindowTerm idealWindowTerm;
+    private final List<CostTerm> extraTerms;
+    private final boolean local;
+
+    public CostModel(SchedulerConfig schedulerConfig, CostConfig costConfig) {
+        this.placementTerm = new PlacementCostTerm(costConfig.taskPlacementCost());
+        this.idealWindowTerm = new IdealWindowTerm(costConfig.idealTimeslotMissPenalty(), schedulerConfig);
+        this.extraTerms = costConfig.terms();
+        this.local = extraTerms.stream().allMatch(CostTerm::isLocal);
+    }
+
+    public int placementDelta(Task task, TimeSlot timeSlot, ScheduleView schedule) {
+        int delta = placementTerm.placementDelta(task, timeSlot, schedule)
+                + idealWindowTerm.placementDelta(task, timeSlot, schedule);
+        for (CostTerm term : extraTerms) {
+            delta += term.placementDelta(task, timeSlot, schedule);
+        }
+        return delta;
+    }
+
+    /**
+     * Lower bound on the delta of placing {@code task}, unplaced in {@code schedule}, now or later.
+     */
+    public int lowerBound(Task task, ScheduleView schedule) {
+        int bound = placementTerm.lowerBound(task, schedule) + idealWindowTerm.lowerBound(task, schedule);
+        for (CostTerm term : extraTerms) {
+            bound += term.lowerBound(task, schedule);
+        }
+        return bound;
+    }
+
+    /**
+     * Lower bound on the cost {@code unplacedTasks} still add to {@code schedule}.
+     */
+    public int remainingLowerBound(Collection<Task> unplacedTasks, ScheduleView schedule) {
+        int bound = 0;
+        for (Task task : unplacedTasks) {
+            bound += lowerBound(task, schedule);
+        }
+        return bound;
+    }
+
+    /**
+     * Lower bound on the delta of placing {@code task} at {@code timeSlot} or any slot after it in cost order:
+     * the exact base and ideal-window cost plus the bounds of the extra terms. Candidates come in ascending
+     * base and ideal-window cost, so once this reaches a search bound the remaining candidates can be skipped.
+     */
+    public int placementFloor(Task task, TimeSlot timeSlot, ScheduleView schedule) {
+        int floor = placementTerm.placementDelta(task, timeSlot, schedule)
+                + idealWindowTerm.placementDelta(task, timeSlot, schedule);
+        for (CostTerm term : extraTerms) {
+            floor += term.lowerBound(task, schedule);
+        }
+        return floor;
+    }
+
+    /**
+     * Whether every delta depends on nothing but the task and its slot.
+     */
+    public boolean isLocal() {
+        return local;
+    }
+
+    public List<CostTerm> terms() {
+        List<CostTerm> terms = new ArrayList<>(List.of(placementTerm, idealWindowTerm));
+        terms.addAll(extraTerms);
+        return terms;
+    }
+}
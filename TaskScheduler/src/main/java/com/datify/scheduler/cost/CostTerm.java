@@ -0,0 +1,35 @@
+package com.datify.scheduler.cost;
+
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.model.TimeSlot;
+
+/**
+ * One soft constraint of the schedule cost. A term's cost for a schedule is the sum of its deltas over the
+ * placements, each taken against the placements before it, and comes out the same in any order; searches
+ * therefore carry the cost forward one placement at a time and never re-evaluate a whole schedule. Terms
+ * look at the schedule only through the lookups of {@link ScheduleView}.
+ */
+public interface CostTerm {
+
+    /**
+     * Exact change of this term when {@code task}, unplaced in {@code schedule}, is placed at {@code timeSlot}.
+     * May be negative for terms that reward filling gaps.
+     */
+    int placementDelta(Task task, TimeSlot timeSlot, ScheduleView schedule);
+
+    /**
+     * Admissible bound: never more than the delta of placing {@code task} anywhere into {@code schedule} or
+     * into any schedule that extends it. Zero is safe for every term whose deltas are never negative.
+     */
+    default int lowerBound(Task task, ScheduleView schedule) {
+        return 0;
+    }
+
+    /**
+     * Whether the delta depends on nothing but the task and the slot. Searches that memoise over the set of
+     * placed tasks, such as dynamic programming, need every term to be local.
+     */
+    default boolean isLocal() {
+        return false;
+    }
+}
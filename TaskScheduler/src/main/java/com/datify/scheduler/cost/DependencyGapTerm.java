@@ -0,0 +1,60 @@
+package com.datify.scheduler.cost;
+
+import com.datify.scheduler.config.SchedulerConfig;
+import com.datify.scheduler.model.PackedSlot;
+import com.datify.scheduler.model.Placement;
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.model.TimeSlot;
+
+import java.util.UUID;
+
+/**
+ * Keeps dependent work close to what it waits for: every dependency edge costs {@code penaltyPerHour} per
+ * full working hour between the end of the dependency and the start of the dependent. An edge is charged
+ * when the second of its two tasks is placed.
+ */
+public record DependencyGapTerm(int penaltyPerHour, SchedulerConfig schedulerConfig) implements CostTerm {
+
+    public DependencyGapTerm {
+        if (penaltyPerHour < 0) throw new IllegalArgumentException("penaltyPerHour must be >= 0");
+        if (schedulerConfig == null) throw new IllegalArgumentException("schedulerConfig must not be null");
+    }
+
+    @Override
+    public int placementDelta(Task task, TimeSlot timeSlot, ScheduleView schedule) {
+        int delta = 0;
+        for (UUID depId : task.getDependencyIds()) {
+            Placement dependency = schedule.placement(depId);
+            if (dependency != null) {
+                delta += edgeCost(dependency.timeSlot().endMinute(), timeSlot.startMinute());
+            }
+        }
+        for (Placement dependent : schedule.placedDependents(task.getId())) {
+            delta += edgeCost(timeSlot.endMinute(), dependent.timeSlot().startMinute());
+        }
+        return delta;
+    }
+
+    private int edgeCost(int from, int to) {
+        return penaltyPerHour * (workingMinutesBetween(from, to) / 60);
+    }
+
+    /**
+     * Working minutes between two timeline minutes, counting only the work hours of each day in between.
+     */
+    private int workingMinutesBetween(int from, int to) {
+        if (to <= from) {
+            return 0;
+        }
+        int workStart = PackedSlot.minuteOfDay(schedulerConfig.workStart());
+        int workEnd = PackedSlot.minuteOfDay(schedulerConfig.workEnd());
+        int fromDay = Math.floorDiv(from, PackedSlot.MINUTES_PER_DAY);
+        int toDay = Math.floorDiv(to, PackedSlot.MINUTES_PER_DAY);
+        int fromMinute = Math.max(workStart, Math.min(workEnd, from - fromDay * PackedSlot.MINUTES_PER_DAY));
+        int toMinute = Math.max(workStart, Math.min(workEnd, to - toDay * PackedSlot.MINUTES_PER_DAY));
+        if (fromDay == toDay) {
+            return Math.max(0, toMinute - fromMinute);
+        }
+        return (workEnd - fromMinute) + (toDay - fromDay - 1) * (workEnd - workStart) + (toMinute - workStart);
+    }
+}
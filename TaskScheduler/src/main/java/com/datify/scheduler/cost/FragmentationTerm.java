@@ -0,0 +1,38 @@
+package com.datify.scheduler.cost;
+
+import com.datify.scheduler.model.PackedSlot;
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.model.TimeSlot;
+
+/**
+ * Prefers compact days: every gap between blocks of work on the same day costs {@code penaltyPerGap}.
+ * Filling a gap closes it, so deltas can be negative, but never below {@code -penaltyPerGap}.
+ */
+public record FragmentationTerm(int penaltyPerGap) implements CostTerm {
+
+    public FragmentationTerm {
+        if (penaltyPerGap < 0) throw new IllegalArgumentException("penaltyPerGap must be >= 0");
+    }
+
+    @Override
+    public int placementDelta(Task task, TimeSlot timeSlot, ScheduleView schedule) {
+        int start = timeSlot.startMinute();
+        int end = timeSlot.endMinute();
+        int dayBase = Math.floorDiv(start, PackedSlot.MINUTES_PER_DAY) * PackedSlot.MINUTES_PER_DAY;
+        long left = schedule.slotAtOrBefore(start - 1);
+        long right = schedule.slotAtOrAfter(start);
+        boolean leftSameDay = left != ScheduleView.NONE && PackedSlot.start(left) >= dayBase;
+        boolean rightSameDay = right != ScheduleView.NONE && PackedSlot.start(right) < dayBase + PackedSlot.MINUTES_PER_DAY;
+        if (!leftSameDay && !rightSameDay) {
+            return 0;
+        }
+        int adjacent = (leftSameDay && PackedSlot.end(left) == start ? 1 : 0)
+                + (rightSameDay && PackedSlot.start(right) == end ? 1 : 0);
+        return penaltyPerGap * (1 - adjacent);
+    }
+
+    @Override
+    public int lowerBound(Task task, ScheduleView schedule) {
+        return -penaltyPerGap;
+    }
+}
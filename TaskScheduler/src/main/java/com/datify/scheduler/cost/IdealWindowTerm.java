@@ -0,0 +1,115 @@
+package com.datify.scheduler.cost;
+
+import com.datify.scheduler.config.SchedulerConfig;
+import com.datify.scheduler.model.PackedSlot;
+import com.datify.scheduler.model.Placement;
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.model.TimeSlot;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Penalty for placing a task that has ideal windows outside all of them. The bound charges the penalty only
+ * once no occurrence of a window has a free stretch left, on the grid and after the task's placed
+ * dependencies, that is long enough for the task: later placements only take room away.
+ */
+public class IdealWindowTerm implements CostTerm {
+    private final int missPenalty;
+    private final SchedulerConfig schedulerConfig;
+    private final Map<List<TimeSlot>, long[]> occurrencesByWindows = new ConcurrentHashMap<>();
+
+    public IdealWindowTerm(int missPenalty, SchedulerConfig schedulerConfig) {
+        if (missPenalty < 0) throw new IllegalArgumentException("missPenalty must be >= 0");
+        if (schedulerConfig == null) throw new IllegalArgumentException("schedulerConfig must not be null");
+        this.missPenalty = missPenalty;
+        this.schedulerConfig = schedulerConfig;
+    }
+
+    @Override
+    public int placementDelta(Task task, TimeSlot timeSlot, ScheduleView schedule) {
+        if (task.getIdealTimeWindows().isEmpty()) {
+            return 0;
+        }
+        boolean inWindow = task.getIdealTimeWindows().stream()
+                .anyMatch(ideal -> ideal.envelops(timeSlot));
+        return inWindow ? 0 : missPenalty;
+    }
+
+    @Override
+    public int lowerBound(Task task, ScheduleView schedule) {
+        if (task.getIdealTimeWindows().isEmpty() || missPenalty == 0) {
+            return 0;
+        }
+        int earliestStart = Integer.MIN_VALUE;
+        for (UUID depId : task.getDependencyIds()) {
+            Placement dependency = schedule.placement(depId);
+            if (dependency != null) {
+                earliestStart = Math.max(earliestStart, dependency.timeSlot().endMinute());
+            }
+        }
+        int duration = (int) task.getDuration().toMinutes();
+        for (long occurrence : occurrences(task)) {
+            if (hasRoom(occurrence, earliestStart, duration, schedule)) {
+                return 0;
+            }
+        }
+        return missPenalty;
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
+    /**
+     * Walks the placements overlapping the occurrence in time order, moving the candidate start past each one
+     * that is in the way.
+     */
+    private boolean hasRoom(long occurrence, int earliestStart, int duration, ScheduleView schedule) {
+        int dayBase = Math.floorDiv(PackedSlot.start(occurrence), PackedSlot.MINUTES_PER_DAY) * PackedSlot.MINUTES_PER_DAY;
+        int gridOrigin = dayBase + PackedSlot.minuteOfDay(schedulerConfig.workStart());
+        int from = Math.max(PackedSlot.start(occurrence), Math.max(earliestStart, gridOrigin));
+        int to = Math.min(PackedSlot.end(occurrence), dayBase + PackedSlot.minuteOfDay(schedulerConfig.workEnd()));
+        int start = gridStartAtOrAfter(from, gridOrigin);
+        long slot = schedule.slotAtOrBefore(from);
+        if (slot == ScheduleView.NONE || PackedSlot.end(slot) <= from) {
+            slot = schedule.slotAtOrAfter(from);
+        }
+        while (start + duration <= to) {
+            if (slot == ScheduleView.NONE || PackedSlot.start(slot) >= start + duration) {
+                return true;
+            }
+            if (PackedSlot.end(slot) > start) {
+                start = gridStartAtOrAfter(PackedSlot.end(slot), gridOrigin);
+            }
+            slot = schedule.slotAtOrAfter(PackedSlot.end(slot));
+        }
+        return false;
+    }
+
+    private int gridStartAtOrAfter(int minute, int gridOrigin) {
+        if (minute <= gridOrigin) {
+            return gridOrigin;
+        }
+        int step = schedulerConfig.timeSlotMinutes();
+        return gridOrigin - Math.floorDiv(gridOrigin - minute, step) * step;
+    }
+
+    /**
+     * Ideal windows are weekly templates; on a dated horizon they recur on every matching date.
+     */
+    private long[] occurrences(Task task) {
+        return occurrencesByWindows.computeIfAbsent(task.getIdealTimeWindows(), windows -> {
+            List<TimeSlot> occurrences = schedulerConfig.horizon() == null ? windows : schedulerConfig.horizon().occurrences(windows);
+            return occurrences.stream().mapToLong(TimeSlot::toPacked).toArray();
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "IdealWindowTerm[missPenalty=" + missPenalty + "]";
+    }
+}
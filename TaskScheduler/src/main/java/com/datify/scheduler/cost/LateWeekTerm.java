@@ -0,0 +1,24 @@
+package com.datify.scheduler.cost;
+
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.model.TimeSlot;
+
+/**
+ * Prefers early days of the week: a placement costs {@code penaltyPerDay} for every day after Monday.
+ */
+public record LateWeekTerm(int penaltyPerDay) implements CostTerm {
+
+    public LateWeekTerm {
+        if (penaltyPerDay < 0) throw new IllegalArgumentException("penaltyPerDay must be >= 0");
+    }
+
+    @Override
+    public int placementDelta(Task task, TimeSlot timeSlot, ScheduleView schedule) {
+        return penaltyPerDay * (timeSlot.dayOfWeek().getValue() - 1);
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+}
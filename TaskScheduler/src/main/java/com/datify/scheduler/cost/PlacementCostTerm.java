@@ -0,0 +1,29 @@
+package com.datify.scheduler.cost;
+
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.model.TimeSlot;
+
+/**
+ * Flat cost for every placed task.
+ */
+public record PlacementCostTerm(int cost) implements CostTerm {
+
+    public PlacementCostTerm {
+        if (cost < 0) throw new IllegalArgumentException("cost must be >= 0");
+    }
+
+    @Override
+    public int placementDelta(Task task, TimeSlot timeSlot, ScheduleView schedule) {
+        return cost;
+    }
+
+    @Override
+    public int lowerBound(Task task, ScheduleView schedule) {
+        return cost;
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+}
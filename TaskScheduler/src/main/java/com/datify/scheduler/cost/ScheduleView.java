@@ -0,0 +1,37 @@
+package com.datify.scheduler.cost;
+
+import com.datify.scheduler.model.Placement;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * What a {@link CostTerm} may look up about the schedule a task is placed into. Every lookup takes at most
+ * logarithmic time, so costing a placement never walks the whole schedule.
+ */
+public interface ScheduleView {
+    /**
+     * Returned by the slot lookups when there is no such placement.
+     */
+    long NONE = Long.MIN_VALUE;
+
+    /**
+     * Placement of {@code taskId}, or {@code null} if it is not placed.
+     */
+    Placement placement(UUID taskId);
+
+    /**
+     * Packed slot of the last placement starting at or before {@code minute}, or {@link #NONE}.
+     */
+    long slotAtOrBefore(int minute);
+
+    /**
+     * Packed slot of the first placement starting at or after {@code minute}, or {@link #NONE}.
+     */
+    long slotAtOrAfter(int minute);
+
+    /**
+     * Placed tasks that depend on {@code taskId}.
+     */
+    List<Placement> placedDependents(UUID taskId);
+}
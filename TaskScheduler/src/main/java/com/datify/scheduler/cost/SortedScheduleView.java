@@ -0,0 +1,80 @@
+package com.datify.scheduler.cost;
+
+import com.datify.scheduler.model.PackedSlot;
+import com.datify.scheduler.model.Placement;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@link ScheduleView} over a search state: its placements and their packed slots sorted by start. Searches
+ * place a task only after all of its dependencies, so no placed task ever depends on the one being placed.
+ */
+public final class SortedScheduleView implements ScheduleView {
+    private final Map<UUID, Placement> placements;
+    private final long[] slots;
+
+    /**
+     * {@code slots} must be the packed slots of {@code placements} sorted by start; it is not copied.
+     */
+    public SortedScheduleView(Map<UUID, Placement> placements, long[] slots) {
+        this.placements = placements;
+        this.slots = slots;
+    }
+
+    /**
+     * View of {@code placements}, which holds the placements of this view plus one more at {@code slot}.
+     */
+    public SortedScheduleView with(Map<UUID, Placement> placements, long slot) {
+        int at = firstStartingAtOrAfter(PackedSlot.start(slot));
+        long[] grown = new long[slots.length + 1];
+        System.arraycopy(slots, 0, grown, 0, at);
+        grown[at] = slot;
+        System.arraycopy(slots, at, grown, at + 1, slots.length - at);
+        return new SortedScheduleView(placements, grown);
+    }
+
+    /**
+     * Packed slots sorted by start, shared with this view; callers must not modify them.
+     */
+    public long[] slots() {
+        return slots;
+    }
+
+    @Override
+    public Placement placement(UUID taskId) {
+        return placements.get(taskId);
+    }
+
+    @Override
+    public long slotAtOrBefore(int minute) {
+        int index = firstStartingAtOrAfter((long) minute + 1) - 1;
+        return index >= 0 ? slots[index] : NONE;
+    }
+
+    @Override
+    public long slotAtOrAfter(int minute) {
+        int index = firstStartingAtOrAfter(minute);
+        return index < slots.length ? slots[index] : NONE;
+    }
+
+    @Override
+    public List<Placement> placedDependents(UUID taskId) {
+        return List.of();
+    }
+
+    private int firstStartingAtOrAfter(long minute) {
+        int low = 0;
+        int high = slots.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (PackedSlot.start(slots[mid]) < minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
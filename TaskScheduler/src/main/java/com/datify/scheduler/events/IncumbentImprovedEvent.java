@@ -0,0 +1,30 @@
+package com.datify.scheduler.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A search found a complete schedule cheaper than any before it in the same run.
+ */
+@Name("com.datify.scheduler.IncumbentImproved")
+@Label("Incumbent Improved")
+@Category({"Datify", "Scheduler"})
+@StackTrace(false)
+public class IncumbentImprovedEvent extends Event {
+    @Label("Cost")
+    public int cost;
+
+    @Label("Previous Cost")
+    public int previousCost;
+
+    @Label("Nodes Explored")
+    public long nodesExplored;
+
+    @Label("Time Into Run")
+    @Timespan(Timespan.MILLISECONDS)
+    public long elapsedMs;
+}
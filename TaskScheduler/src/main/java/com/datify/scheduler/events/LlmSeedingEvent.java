@@ -0,0 +1,31 @@
+package com.datify.scheduler.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One task extraction through the LLM; the event duration is the latency including retries and back-off.
+ */
+@Name("com.datify.scheduler.LlmSeeding")
+@Label("LLM Seeding")
+@Category({"Datify", "Parser"})
+public class LlmSeedingEvent extends Event {
+    @Label("Model")
+    public String model;
+
+    @Label("Retries")
+    public int retries;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Tasks")
+    public int taskCount;
+
+    @Label("Fallback")
+    @Description("Extraction failed and the hardcoded tasks were returned")
+    public boolean fallback;
+}
@@ -0,0 +1,36 @@
+package com.datify.scheduler.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One call to {@link com.datify.scheduler.planner.SchedulePlanner#beginPlanning}; the event duration is the
+ * planning latency.
+ */
+@Name("com.datify.scheduler.PlanningRun")
+@Label("Planning Run")
+@Category({"Datify", "Scheduler"})
+public class PlanningRunEvent extends Event {
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Unplaced Tasks")
+    public int taskCount;
+
+    @Label("Nodes Explored")
+    public long nodesExplored;
+
+    @Label("Result Cost")
+    @Description("Cost of the returned schedule, -1 if it is incomplete")
+    public int resultCost;
+
+    @Label("Limit Reached")
+    @Description("A node, time or deadline limit stopped the search before it proved its result optimal")
+    public boolean limitReached;
+
+    @Label("Cached")
+    public boolean cached;
+}
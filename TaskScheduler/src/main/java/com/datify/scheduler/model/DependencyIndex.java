@@ -0,0 +1,210 @@
+package com.datify.scheduler.model;
+
+import java.util.*;
+
+/**
+ * Immutable dependency graph over a fixed task set, built once per run with iterative algorithms only,
+ * so it copes with very long chains. Tasks are addressed by dense index in input order. Dependencies on
+ * IDs outside the set are ignored here and reported by {@link #missingDependencyIds(int)}.
+ */
+public final class DependencyIndex {
+    /**
+     * End minute of an unplaced task in {@link #endMinutes}. It is larger than any real end, so
+     * {@link #earliestStart} returns it while a dependency is still unplaced.
+     */
+    public static final int UNPLACED = Integer.MAX_VALUE;
+
+    private final Task[] tasks;
+    private final Map<UUID, Integer> indexById;
+    private final int[][] dependencies;
+    private final int[][] successors;
+    private final int[] topologicalOrder;
+    private final int[] topologicalPosition;
+    private final int[] tailMinutes;
+
+    private DependencyIndex(Collection<Task> taskCollection) {
+        int n = taskCollection.size();
+        tasks = taskCollection.toArray(new Task[0]);
+        indexById = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indexById.put(tasks[i].getId(), i);
+        }
+
+        dependencies = new int[n][];
+        int[] successorCounts = new int[n];
+        for (int i = 0; i < n; i++) {
+            int[] deps = new int[tasks[i].getDependencyIds().size()];
+            int count = 0;
+            for (UUID depId : tasks[i].getDependencyIds()) {
+                Integer dep = indexById.get(depId);
+                if (dep != null) deps[count++] = dep;
+            }
+            dependencies[i] = count == deps.length ? deps : Arrays.copyOf(deps, count);
+            Arrays.sort(dependencies[i]);
+            for (int dep : dependencies[i]) successorCounts[dep]++;
+        }
+        successors = new int[n][];
+        for (int i = 0; i < n; i++) successors[i] = new int[successorCounts[i]];
+        for (int i = 0; i < n; i++) {
+            for (int dep : dependencies[i]) successors[dep][--successorCounts[dep]] = i;
+        }
+
+        topologicalOrder = kahn(n);
+        topologicalPosition = new int[n];
+        Arrays.fill(topologicalPosition, -1);
+        for (int pos = 0; pos < topologicalOrder.length; pos++) {
+            topologicalPosition[topologicalOrder[pos]] = pos;
+        }
+
+        int[] durations = new int[n];
+        for (int i = 0; i < n; i++) durations[i] = (int) tasks[i].getDuration().toMinutes();
+        tailMinutes = new int[n];
+        for (int pos = topologicalOrder.length - 1; pos >= 0; pos--) {
+            int task = topologicalOrder[pos];
+            int longestSuccessor = 0;
+            for (int successor : successors[task]) {
+                longestSuccessor = Math.max(longestSuccessor, tailMinutes[successor]);
+            }
+            tailMinutes[task] = durations[task] + longestSuccessor;
+        }
+    }
+
+    public static DependencyIndex of(Collection<Task> tasks) {
+        return new DependencyIndex(tasks);
+    }
+
+    private int[] kahn(int n) {
+        int[] pending = new int[n];
+        int[] ready = new int[n];
+        int readySize = 0;
+        for (int i = 0; i < n; i++) {
+            pending[i] = dependencies[i].length;
+            if (pending[i] == 0) readySize = heapPush(ready, readySize, i);
+        }
+        int[] order = new int[n];
+        int count = 0;
+        while (readySize > 0) {
+            int task = ready[0];
+            readySize = heapPop(ready, readySize);
+            order[count++] = task;
+            for (int successor : successors[task]) {
+                if (--pending[successor] == 0) readySize = heapPush(ready, readySize, successor);
+            }
+        }
+        return count == n ? order : Arrays.copyOf(order, count);
+    }
+
+    private static int heapPush(int[] heap, int size, int value) {
+        int i = size;
+        while (i > 0 && heap[(i - 1) >>> 1] > value) {
+            heap[i] = heap[(i - 1) >>> 1];
+            i = (i - 1) >>> 1;
+        }
+        heap[i] = value;
+        return size + 1;
+    }
+
+    private static int heapPop(int[] heap, int size) {
+        int last = heap[--size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= last) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return size;
+    }
+
+    public int size() {
+        return tasks.length;
+    }
+
+    public Task task(int index) {
+        return tasks[index];
+    }
+
+    /**
+     * Dense index of the task, or -1 if it is not part of this index.
+     */
+    public int indexOf(UUID taskId) {
+        Integer index = indexById.get(taskId);
+        return index != null ? index : -1;
+    }
+
+    public int[] dependencies(int index) {
+        return dependencies[index];
+    }
+
+    public int[] successors(int index) {
+        return successors[index];
+    }
+
+    public boolean isAcyclic() {
+        return topologicalOrder.length == tasks.length;
+    }
+
+    /**
+     * Indices in dependency order, lower input index first among ready tasks. Tasks on or behind a cycle are omitted.
+     */
+    public int[] topologicalOrder() {
+        return topologicalOrder;
+    }
+
+    /**
+     * Position in {@link #topologicalOrder()}, or -1 for tasks on or behind a cycle.
+     */
+    public int topologicalPosition(int index) {
+        return topologicalPosition[index];
+    }
+
+    /**
+     * End minute of every placed task by index, {@link #UNPLACED} for the rest. Searches build this once per
+     * node or update it as they place tasks, so dependency checks read arrays instead of maps.
+     */
+    public int[] endMinutes(Map<UUID, Placement> placedTasks) {
+        int[] endMinutes = new int[tasks.length];
+        Arrays.fill(endMinutes, UNPLACED);
+        for (Placement placement : placedTasks.values()) {
+            Integer index = indexById.get(placement.task().getId());
+            if (index != null) endMinutes[index] = placement.timeSlot().endMinute();
+        }
+        return endMinutes;
+    }
+
+    /**
+     * End of the latest dependency in {@code endMinutes}, {@link Integer#MIN_VALUE} without dependencies, or
+     * {@link #UNPLACED} while a dependency is unplaced or missing from this index.
+     */
+    public int earliestStart(int index, int[] endMinutes) {
+        if (dependencies[index].length != tasks[index].getDependencyIds().size()) {
+            return UNPLACED;
+        }
+        int earliestStart = Integer.MIN_VALUE;
+        for (int dep : dependencies[index]) {
+            earliestStart = Math.max(earliestStart, endMinutes[dep]);
+        }
+        return earliestStart;
+    }
+
+    /**
+     * Longest chain of durations from the task's start through its successors, including its own duration.
+     */
+    public int tailMinutes(int index) {
+        return tailMinutes[index];
+    }
+
+    public Set<UUID> missingDependencyIds(int index) {
+        if (dependencies[index].length == tasks[index].getDependencyIds().size()) {
+            return Set.of();
+        }
+        Set<UUID> missing = new HashSet<>();
+        for (UUID depId : tasks[index].getDependencyIds()) {
+            if (!indexById.containsKey(depId)) missing.add(depId);
+        }
+        return missing;
+    }
+}
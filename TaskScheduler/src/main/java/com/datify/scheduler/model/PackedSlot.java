@@ -0,0 +1,73 @@
+package com.datify.scheduler.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Planner-internal encoding of a {@link TimeSlot} as start and end timeline minute packed into one
+ * {@code long}: minute-of-week for undated slots, minutes since the epoch day for dated ones. All
+ * comparisons are plain integer arithmetic; convert back with {@link #toTimeSlot(long, boolean)} only
+ * when a result leaves the planner.
+ */
+public final class PackedSlot {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private PackedSlot() {
+    }
+
+    public static long pack(int startMinute, int endMinute) {
+        return ((long) startMinute << 32) | (endMinute & 0xFFFFFFFFL);
+    }
+
+    public static long of(TimeSlot timeSlot) {
+        return pack(timeSlot.startMinute(), timeSlot.endMinute());
+    }
+
+    public static int start(long slot) {
+        return (int) (slot >>> 32);
+    }
+
+    public static int end(long slot) {
+        return (int) slot;
+    }
+
+    public static boolean intersects(long a, long b) {
+        return start(a) < end(b) && start(b) < end(a);
+    }
+
+    public static boolean envelops(long outer, long inner) {
+        return start(outer) <= start(inner) && end(inner) <= end(outer);
+    }
+
+    public static boolean startsAtOrAfter(long a, long b) {
+        return start(a) >= end(b);
+    }
+
+    public static int minuteOfWeek(DayOfWeek dayOfWeek, LocalTime time) {
+        return (dayOfWeek.getValue() - 1) * MINUTES_PER_DAY + minuteOfDay(time);
+    }
+
+    public static int minuteOfDate(LocalDate date, LocalTime time) {
+        return Math.toIntExact(date.toEpochDay() * MINUTES_PER_DAY + minuteOfDay(time));
+    }
+
+    public static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    public static TimeSlot toTimeSlot(long slot) {
+        return toTimeSlot(slot, false);
+    }
+
+    public static TimeSlot toTimeSlot(long slot, boolean dated) {
+        int start = start(slot);
+        int day = start / MINUTES_PER_DAY;
+        int dayBase = day * MINUTES_PER_DAY;
+        LocalTime startTime = LocalTime.ofSecondOfDay((start - dayBase) * 60L);
+        LocalTime endTime = LocalTime.ofSecondOfDay((end(slot) - dayBase) * 60L);
+        return dated
+                ? TimeSlot.on(LocalDate.ofEpochDay(day), startTime, endTime)
+                : new TimeSlot(startTime, endTime, DayOfWeek.of(day + 1));
+    }
+}
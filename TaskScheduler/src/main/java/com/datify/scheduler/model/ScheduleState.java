@@ -13,28 +13,4 @@ public record ScheduleState(
     public boolean isComplete() {
         return unplacedTasks.isEmpty();
     }
-
-    public boolean dependenciesPlaced(Task task) {
-        return task.getDependencyIds().stream()
-                .allMatch(placedTasks::containsKey);
-    }
-
-    public boolean canPlaceTask(Task task, TimeSlot candidateSlot) {
-        return hasSpaceForTaskIn(candidateSlot) && isAfterDependencies(task, candidateSlot);
-    }
-
-    private boolean isAfterDependencies(Task task, TimeSlot candidateSlot) {
-        for (UUID depId : task.getDependencyIds()) {
-            Placement depPlacement = placedTasks.get(depId);
-            if (depPlacement != null && depPlacement.timeSlot().startsAtOrAfter(candidateSlot)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private boolean hasSpaceForTaskIn(TimeSlot timeSlot) {
-        return placedTasks.values().stream()
-                .noneMatch(p -> p.timeSlot().intersectsWith(timeSlot));
-    }
 }
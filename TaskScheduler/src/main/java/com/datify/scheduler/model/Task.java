@@ -75,13 +75,18 @@ public class Task {
             this.name = name;
         }
 
+        /**
+         * Reuses {@code id} instead of a random one, for reproducible task sets such as generated workloads.
+         */
+        public TaskBuilder id(UUID id) { this.id = id; return this; }
+
         public TaskBuilder description(String description) { this.description = description != null ? description : ""; return this; }
         public TaskBuilder duration(Duration duration) { this.duration = duration; return this; }
         public TaskBuilder dependencyIds(Set<UUID> ids) { this.dependencyIds = ids != null ? Set.copyOf(ids) : Set.of(); return this; }
         public TaskBuilder idealTimeWindows(List<TimeSlot> tw) { this.idealTimeWindows = tw != null ? List.copyOf(tw) : List.of(); return this; }
 
         public Task build() {
-            this.id = UUID.randomUUID();
+            if (id == null) id = UUID.randomUUID();
             if (duration == null) throw new IllegalStateException("Task duration must be set");
             return new Task(this);
         }
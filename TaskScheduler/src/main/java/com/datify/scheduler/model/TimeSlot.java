@@ -1,9 +1,15 @@
 package com.datify.scheduler.model;
 
 import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalTime;
 
-public record TimeSlot(LocalTime start, LocalTime end, DayOfWeek dayOfWeek) {
+/**
+ * A slot on one day. Undated slots describe a day of the abstract planning week (and serve as weekly
+ * templates for ideal windows); dated slots sit on a real calendar date. Slots of the same kind are
+ * compared on the planning timeline, an undated template against a dated slot is compared by weekday.
+ */
+public record TimeSlot(LocalTime start, LocalTime end, DayOfWeek dayOfWeek, LocalDate date) {
     public TimeSlot {
         if (start == null || end == null || dayOfWeek == null) {
             throw new IllegalArgumentException("Start, end and dayOfWeek must not be null");
@@ -11,23 +17,68 @@ public record TimeSlot(LocalTime start, LocalTime end, DayOfWeek dayOfWeek) {
         if (start.isAfter(end)) {
             throw new IllegalArgumentException("Start must be before or equal to end");
         }
+        if (date != null && date.getDayOfWeek() != dayOfWeek) {
+            throw new IllegalArgumentException("dayOfWeek must match date");
+        }
+    }
+
+    public TimeSlot(LocalTime start, LocalTime end, DayOfWeek dayOfWeek) {
+        this(start, end, dayOfWeek, null);
+    }
+
+    public static TimeSlot on(LocalDate date, LocalTime start, LocalTime end) {
+        return new TimeSlot(start, end, date.getDayOfWeek(), date);
+    }
+
+    public boolean isDated() {
+        return date != null;
+    }
+
+    public int startMinuteOfWeek() {
+        return PackedSlot.minuteOfWeek(dayOfWeek, start);
+    }
+
+    public int endMinuteOfWeek() {
+        return PackedSlot.minuteOfWeek(dayOfWeek, end);
+    }
+
+    /**
+     * Minute on the planning timeline: minute-of-week for undated slots, minutes since the epoch day for dated ones.
+     */
+    public int startMinute() {
+        return date == null ? startMinuteOfWeek() : PackedSlot.minuteOfDate(date, start);
+    }
+
+    public int endMinute() {
+        return date == null ? endMinuteOfWeek() : PackedSlot.minuteOfDate(date, end);
+    }
+
+    public long toPacked() {
+        return PackedSlot.of(this);
     }
 
     public boolean intersectsWith(TimeSlot other) {
-        return dayOfWeek == other.dayOfWeek
-                && this.start.isBefore(other.end)
-                && other.start.isBefore(this.end);
+        if (isDated() != other.isDated()) {
+            return startMinuteOfWeek() < other.endMinuteOfWeek()
+                    && other.startMinuteOfWeek() < endMinuteOfWeek();
+        }
+        return startMinute() < other.endMinute()
+                && other.startMinute() < endMinute();
     }
 
     public boolean envelops(TimeSlot other) {
-        return this.dayOfWeek == other.dayOfWeek
-                && (other.start.equals(this.start) || other.start.isAfter(this.start))
-                && (other.end.equals(this.end) || other.end.isBefore(this.end));
+        if (isDated() != other.isDated()) {
+            return startMinuteOfWeek() <= other.startMinuteOfWeek()
+                    && other.endMinuteOfWeek() <= endMinuteOfWeek();
+        }
+        return startMinute() <= other.startMinute()
+                && other.endMinute() <= endMinute();
     }
 
     public boolean startsAtOrAfter(TimeSlot other) {
-        if (this.dayOfWeek.getValue() > other.dayOfWeek.getValue()) return true;
-        if (this.dayOfWeek.getValue() < other.dayOfWeek.getValue()) return false;
-        return this.start.isAfter(other.end) || this.start.equals(other.end);
+        if (isDated() != other.isDated()) {
+            return startMinuteOfWeek() >= other.endMinuteOfWeek();
+        }
+        return startMinute() >= other.endMinute();
     }
 }
@@ -1,5 +1,6 @@
 package com.datify.scheduler.parser;
 
+import com.datify.scheduler.events.LlmSeedingEvent;
 import com.datify.scheduler.model.ExtractedTask;
 import com.datify.scheduler.model.Task;
 import com.datify.scheduler.model.TimeSlot;
@@ -23,10 +24,41 @@ public class LLMTaskSeeder {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private static final int MAX_RETRIES = 3;
     private static final long INITIAL_BACKOFF_SECONDS = 5;
+    private static final String MODEL = "gemini-1.5-flash";
+    private static final int RESPONSE_CACHE_SIZE = 32;
+    private static final Map<String, ExtractedTask[]> RESPONSE_CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ExtractedTask[]> eldest) {
+                    return size() > RESPONSE_CACHE_SIZE;
+                }
+            });
 
     public static Map<UUID, Task> seedFromLLM(String inputText) {
+        LlmSeedingEvent event = new LlmSeedingEvent();
+        event.begin();
+        event.model = MODEL;
+        Map<UUID, Task> tasks = extractTasks(inputText, event);
+        event.taskCount = tasks.size();
+        event.commit();
+        return tasks;
+    }
+
+    /**
+     * Parsed responses are cached by input text, so asking for the same description again costs no API call;
+     * the tasks are rebuilt on every call and get fresh ids.
+     */
+    private static Map<UUID, Task> extractTasks(String inputText, LlmSeedingEvent event) {
+        ExtractedTask[] cachedTasks = RESPONSE_CACHE.get(inputText);
+        if (cachedTasks != null) {
+            event.cacheHit = true;
+            log.info("Reusing cached Gemini response for identical input");
+            return toTasks(cachedTasks);
+        }
+
         if (GEMINI_API_KEY == null || GEMINI_API_KEY.isBlank()) {
             log.error("GOOGLE_API_KEY environment variable not set. Falling back to hardcoded tasks.");
+            event.fallback = true;
             return seedHardcodedTasks();
         }
 
@@ -50,7 +82,7 @@ public class LLMTaskSeeder {
         int retries = 0;
         while (retries < MAX_RETRIES) {
             try {
-                GenerateContentResponse response = client.models.generateContent("gemini-1.5-flash", prompt, null);
+                GenerateContentResponse response = client.models.generateContent(MODEL, prompt, null);
                 String content = response.text();
                 log.info("Gemini Response: {}", content);
 
@@ -61,39 +93,8 @@ public class LLMTaskSeeder {
                 }
 
                 ExtractedTask[] extractedTasks = OBJECT_MAPPER.readValue(content, ExtractedTask[].class);
-
-                Map<UUID, Task> tasks = new HashMap<>();
-                Map<String, UUID> nameToId = new HashMap<>();
-
-                for (ExtractedTask et : extractedTasks) {
-                    List<TimeSlot> idealWindows = et.days().stream()
-                            .map(dayStr -> {
-                                DayOfWeek day = DayOfWeek.valueOf(dayStr.toUpperCase());
-                                LocalTime start = LocalTime.parse(et.idealStart());
-                                LocalTime end = LocalTime.parse(et.idealEnd());
-                                return new TimeSlot(start, end, day);
-                            })
-                            .collect(Collectors.toList());
-
-                    Set<UUID> depIds = new HashSet<>();
-                    for (String depName : et.dependsOn()) {
-                        if (nameToId.containsKey(depName)) {
-                            depIds.add(nameToId.get(depName));
-                        } else {
-                            log.warn("Dependency '{}' not found for task '{}'", depName, et.name());
-                        }
-                    }
-
-                    Task task = new Task.TaskBuilder(et.name())
-                            .duration(Duration.ofMinutes(et.durationMinutes()))
-                            .idealTimeWindows(idealWindows)
-                            .dependencyIds(depIds)
-                            .build();
-
-                    UUID id = task.getId();
-                    tasks.put(id, task);
-                    nameToId.put(et.name(), id);
-                }
+                Map<UUID, Task> tasks = toTasks(extractedTasks);
+                RESPONSE_CACHE.put(inputText, extractedTasks);
 
                 log.info("Seeded {} tasks from Gemini", tasks.size());
                 return tasks;
@@ -109,17 +110,56 @@ public class LLMTaskSeeder {
                         log.error("Sleep interrupted", ie);
                     }
                     retries++;
+                    event.retries = retries;
                 } else {
                     log.error("Failed to seed from Gemini after {} retries: {}", retries, e.getMessage(), e);
+                    event.fallback = true;
                     return seedHardcodedTasks();
                 }
             }
         }
 
         log.error("Max retries reached for Gemini seeding. Falling back to hardcoded tasks.");
+        event.fallback = true;
         return seedHardcodedTasks();
     }
 
+    private static Map<UUID, Task> toTasks(ExtractedTask[] extractedTasks) {
+        Map<UUID, Task> tasks = new HashMap<>();
+        Map<String, UUID> nameToId = new HashMap<>();
+
+        for (ExtractedTask et : extractedTasks) {
+            List<TimeSlot> idealWindows = et.days().stream()
+                    .map(dayStr -> {
+                        DayOfWeek day = DayOfWeek.valueOf(dayStr.toUpperCase());
+                        LocalTime start = LocalTime.parse(et.idealStart());
+                        LocalTime end = LocalTime.parse(et.idealEnd());
+                        return new TimeSlot(start, end, day);
+                    })
+                    .collect(Collectors.toList());
+
+            Set<UUID> depIds = new HashSet<>();
+            for (String depName : et.dependsOn()) {
+                if (nameToId.containsKey(depName)) {
+                    depIds.add(nameToId.get(depName));
+                } else {
+                    log.warn("Dependency '{}' not found for task '{}'", depName, et.name());
+                }
+            }
+
+            Task task = new Task.TaskBuilder(et.name())
+                    .duration(Duration.ofMinutes(et.durationMinutes()))
+                    .idealTimeWindows(idealWindows)
+                    .dependencyIds(depIds)
+                    .build();
+
+            UUID id = task.getId();
+            tasks.put(id, task);
+            nameToId.put(et.name(), id);
+        }
+        return tasks;
+    }
+
     public static Map<UUID, Task> seedHardcodedTasks() {
         log.debug("Creating seed data from hardcoded fallback...");
 
@@ -0,0 +1,146 @@
+package com.datify.scheduler.planner;
+
+import com.datify.scheduler.config.SchedulerConfig;
+import com.datify.scheduler.model.DependencyIndex;
+import com.datify.scheduler.model.PackedSlot;
+import com.datify.scheduler.model.Placement;
+import com.datify.scheduler.model.ScheduleState;
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.model.TimeSlot;
+import com.datify.scheduler.util.TaskValidator;
+import com.datify.scheduler.util.ValidationIssue;
+import com.datify.scheduler.util.ValidationReport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.DayOfWeek;
+import java.util.*;
+
+/**
+ * Cheap necessary conditions for a complete schedule, checked before any search: the structural problems
+ * {@link TaskValidator} finds (cycles, missing dependencies, tasks longer than the work day), total demand
+ * against the free grid cells of the horizon, and the longest dependency chain against the number of days.
+ * Every task occupies whole cells of {@code timeSlotMinutes} because placements start on the grid. Passing
+ * proves nothing; failing proves that no complete schedule exists.
+ */
+@Slf4j
+public class FeasibilityPresolver {
+    private final SchedulerConfig schedulerConfig;
+
+    public FeasibilityPresolver(SchedulerConfig schedulerConfig) {
+        if (schedulerConfig == null) throw new IllegalArgumentException("schedulerConfig must not be null");
+        this.schedulerConfig = schedulerConfig;
+    }
+
+    public ValidationReport check(ScheduleState startScheduleState) {
+        long startTime = System.currentTimeMillis();
+        Map<UUID, Task> unplaced = startScheduleState.unplacedTasks();
+        Map<UUID, Task> all = new HashMap<>(unplaced);
+        for (Placement placement : startScheduleState.placedTasks().values()) {
+            all.put(placement.task().getId(), placement.task());
+        }
+
+        List<ValidationIssue> issues = new ArrayList<>();
+        for (ValidationIssue issue : TaskValidator.validate(all, schedulerConfig).issues()) {
+            if (issue.type() != ValidationIssue.Type.IDEAL_WINDOW_TOO_SHORT
+                    && issue.taskIds().stream().anyMatch(unplaced::containsKey)) {
+                issues.add(issue);
+            }
+        }
+        checkCapacity(startScheduleState, issues);
+        checkCriticalPath(unplaced, issues);
+
+        ValidationReport report = new ValidationReport(issues);
+        log.debug("Pre-solve checked {} tasks in {}ms: {} issues", unplaced.size(), System.currentTimeMillis() - startTime, issues.size());
+        return report;
+    }
+
+    private void checkCapacity(ScheduleState startScheduleState, List<ValidationIssue> issues) {
+        long demand = 0;
+        for (Task task : startScheduleState.unplacedTasks().values()) {
+            demand += cells(task);
+        }
+        long capacity = (long) planningDays() * cellsPerDay();
+        for (Placement placement : startScheduleState.placedTasks().values()) {
+            capacity -= fullyCoveredCells(placement.timeSlot());
+        }
+        if (demand > capacity) {
+            issues.add(new ValidationIssue(ValidationIssue.Type.OVER_CAPACITY, List.copyOf(startScheduleState.unplacedTasks().keySet()),
+                    "Tasks need " + demand + " slots of " + schedulerConfig.timeSlotMinutes() + " minutes but only "
+                            + capacity + " are free in " + planningDays() + " planning days"));
+        }
+    }
+
+    /**
+     * Packs the chain with the most work behind it into days in dependency order; a day never holds more
+     * than its cells, so the chain needs at least that many days.
+     */
+    private void checkCriticalPath(Map<UUID, Task> unplaced, List<ValidationIssue> issues) {
+        DependencyIndex index = DependencyIndex.of(unplaced.values());
+        if (index.size() == 0 || !index.isAcyclic()) {
+            return;
+        }
+
+        int task = -1;
+        for (int candidate = 0; candidate < index.size(); candidate++) {
+            if (task < 0 || index.tailMinutes(candidate) > index.tailMinutes(task)) {
+                task = candidate;
+            }
+        }
+        List<UUID> chain = new ArrayList<>();
+        int days = 1;
+        long usedCells = 0;
+        while (task >= 0) {
+            Task current = index.task(task);
+            chain.add(current.getId());
+            long taskCells = cells(current);
+            if (usedCells > 0 && usedCells + taskCells > cellsPerDay()) {
+                days++;
+                usedCells = 0;
+            }
+            usedCells += taskCells;
+
+            int next = -1;
+            for (int successor : index.successors(task)) {
+                if (next < 0 || index.tailMinutes(successor) > index.tailMinutes(next)) {
+                    next = successor;
+                }
+            }
+            task = next;
+        }
+
+        if (days > planningDays()) {
+            issues.add(new ValidationIssue(ValidationIssue.Type.CRITICAL_PATH_TOO_LONG, chain,
+                    "Dependency chain of " + chain.size() + " tasks starting with " + unplaced.get(chain.get(0)).getName()
+                            + " needs at least " + days + " days but the horizon has " + planningDays()));
+        }
+    }
+
+    private int planningDays() {
+        return schedulerConfig.horizon() != null ? schedulerConfig.horizon().days() : DayOfWeek.values().length;
+    }
+
+    private long cellsPerDay() {
+        return (schedulerConfig.workDayMinutes() + schedulerConfig.timeSlotMinutes() - 1) / schedulerConfig.timeSlotMinutes();
+    }
+
+    private long cells(Task task) {
+        return (task.getDuration().toMinutes() + schedulerConfig.timeSlotMinutes() - 1) / schedulerConfig.timeSlotMinutes();
+    }
+
+    /**
+     * Grid cells of the working day that {@code timeSlot} covers completely; partly covered cells may still
+     * take a short task. Slots on dates outside the horizon cover nothing.
+     */
+    private long fullyCoveredCells(TimeSlot timeSlot) {
+        if (timeSlot.isDated() && schedulerConfig.horizon() != null
+                && (timeSlot.date().isBefore(schedulerConfig.horizon().startDate())
+                || !timeSlot.date().isBefore(schedulerConfig.horizon().endDateExclusive()))) {
+            return 0;
+        }
+        int workStart = PackedSlot.minuteOfDay(schedulerConfig.workStart());
+        int step = schedulerConfig.timeSlotMinutes();
+        int firstCell = Math.floorDiv(PackedSlot.minuteOfDay(timeSlot.start()) - workStart + step - 1, step);
+        int endCell = Math.floorDiv(Math.min(PackedSlot.minuteOfDay(timeSlot.end()), PackedSlot.minuteOfDay(schedulerConfig.workEnd())) - workStart, step);
+        return Math.max(0, endCell - Math.max(0, firstCell));
+    }
+}
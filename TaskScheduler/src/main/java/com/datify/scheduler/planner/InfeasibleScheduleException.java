@@ -0,0 +1,29 @@
+package com.datify.scheduler.planner;
+
+import com.datify.scheduler.util.ValidationIssue;
+import com.datify.scheduler.util.ValidationReport;
+
+import java.util.List;
+
+/**
+ * Thrown before any search when the pre-solve proves that no complete schedule exists; the report lists
+ * every condition that failed.
+ */
+public class InfeasibleScheduleException extends RuntimeException {
+    private final ValidationReport report;
+
+    public InfeasibleScheduleException(ValidationReport report) {
+        super(summary(report));
+        this.report = report;
+    }
+
+    public ValidationReport getReport() {
+        return report;
+    }
+
+    private static String summary(ValidationReport report) {
+        List<ValidationIssue> issues = report.issues();
+        String first = issues.isEmpty() ? "no reason given" : issues.get(0).message();
+        return issues.size() > 1 ? first + " (and " + (issues.size() - 1) + " more)" : first;
+    }
+}
@@ -2,25 +2,94 @@ package com.datify.scheduler.planner;
 
 import com.datify.scheduler.config.CostConfig;
 import com.datify.scheduler.config.SchedulerConfig;
+import com.datify.scheduler.events.PlanningRunEvent;
 import com.datify.scheduler.model.ScheduleState;
+import com.datify.scheduler.planner.cache.ProblemFingerprint;
+import com.datify.scheduler.planner.cache.ScheduleCache;
 import com.datify.scheduler.planner.strategy.BacktrackingStrategy;
+import com.datify.scheduler.planner.strategy.GreedyStrategy;
 import com.datify.scheduler.planner.strategy.IPlanningStrategy;
+import com.datify.scheduler.util.ValidationReport;
 
+/**
+ * Entry point for planning runs. Holds no per-run state, so one configured planner can serve concurrent
+ * requests; each call gets its own {@link SearchMonitor}. With a {@link FeasibilityPresolver} every run is
+ * checked first and inputs that provably cannot be scheduled fail with {@link InfeasibleScheduleException}
+ * instead of searching until the time limit.
+ */
 public class SchedulePlanner {
     private final IPlanningStrategy strategy;
+    private final ScheduleCache cache;
+    private final FeasibilityPresolver presolver;
 
     public SchedulePlanner() {
-        this(new BacktrackingStrategy(SchedulerConfig.defaultConfig(), CostConfig.defaultConfig()));
+        this(new BacktrackingStrategy(SchedulerConfig.defaultConfig(), CostConfig.defaultConfig(),
+                new GreedyStrategy(SchedulerConfig.defaultConfig(), CostConfig.defaultConfig())),
+                null, new FeasibilityPresolver(SchedulerConfig.defaultConfig()));
     }
 
     public SchedulePlanner(IPlanningStrategy strategy) {
+        this(strategy, null);
+    }
+
+    public SchedulePlanner(IPlanningStrategy strategy, ScheduleCache cache) {
+        this(strategy, cache, null);
+    }
+
+    public SchedulePlanner(IPlanningStrategy strategy, ScheduleCache cache, FeasibilityPresolver presolver) {
         this.strategy = strategy;
+        this.cache = cache;
+        this.presolver = presolver;
     }
 
     public ScheduleState beginPlanning(ScheduleState startScheduleState) {
+        return beginPlanning(startScheduleState, new SearchMonitor());
+    }
+
+    public ScheduleState beginPlanning(ScheduleState startScheduleState, SearchMonitor monitor) {
         if (startScheduleState == null) {
             throw new IllegalArgumentException("Start state cannot be null");
         }
-        return strategy.findSchedule(startScheduleState);
+        if (presolver != null) {
+            ValidationReport report = presolver.check(startScheduleState);
+            if (!report.isValid()) {
+                throw new InfeasibleScheduleException(report);
+            }
+        }
+
+        PlanningRunEvent event = new PlanningRunEvent();
+        event.begin();
+        ScheduleState result = plan(startScheduleState, monitor, event);
+        event.end();
+        if (event.shouldCommit()) {
+            event.strategy = strategy.getClass().getSimpleName();
+            event.taskCount = startScheduleState.unplacedTasks().size();
+            event.nodesExplored = monitor.getNodesExplored();
+            event.resultCost = result.isComplete() ? result.costSoFar() : -1;
+            event.limitReached = monitor.isLimitReached() && !monitor.isProvenOptimal();
+            event.commit();
+        }
+        return result;
+    }
+
+    private ScheduleState plan(ScheduleState startScheduleState, SearchMonitor monitor, PlanningRunEvent event) {
+        if (cache == null) {
+            return strategy.findSchedule(startScheduleState, monitor);
+        }
+
+        ProblemFingerprint fingerprint = ProblemFingerprint.of(startScheduleState, strategy);
+        ScheduleState cached = cache.get(fingerprint);
+        if (cached != null) {
+            event.cached = true;
+            return cached;
+        }
+
+        ScheduleState result = strategy.findSchedule(startScheduleState, monitor);
+        // A run cut off by a limit holds whatever incumbent it had, which a longer run could beat.
+        boolean finished = monitor.isProvenOptimal() || !monitor.isLimitReached();
+        if (result.isComplete() && finished && !monitor.isCancelled()) {
+            cache.put(fingerprint, result);
+        }
+        return result;
     }
 }
@@ -0,0 +1,166 @@
+package com.datify.scheduler.planner;
+
+import com.datify.scheduler.events.IncumbentImprovedEvent;
+import com.datify.scheduler.model.ScheduleState;
+
+/**
+ * Shared view of a running search. Strategies write node counts and incumbents here; observers such as
+ * the UI poll it on their own schedule, so publishing is a few volatile writes and never blocks the search.
+ * Setting {@link #cancel()} makes strategies stop at their next limit check and return their best result.
+ */
+public class SearchMonitor {
+    private final SearchMonitor parent;
+    private final boolean shareIncumbents;
+    private final long startTime;
+
+    private volatile long nodesExplored;
+    private volatile ScheduleState bestSchedule;
+    private volatile boolean cancelled;
+    private volatile boolean provenOptimal;
+    private volatile boolean limitReached;
+    private volatile int lowerBound;
+
+    public SearchMonitor() {
+        this(null);
+    }
+
+    /**
+     * Child monitors forward node counts and incumbents to {@code parent}, see its incumbent cost as an upper
+     * bound and observe its cancellation. Use this when parent and child solve the same problem.
+     */
+    public SearchMonitor(SearchMonitor parent) {
+        this(parent, true);
+    }
+
+    /**
+     * With {@code shareIncumbents} false only node counts and cancellation are linked, for children that solve
+     * a sub-problem whose schedules are not comparable with the parent's.
+     */
+    public SearchMonitor(SearchMonitor parent, boolean shareIncumbents) {
+        this.parent = parent;
+        this.shareIncumbents = shareIncumbents;
+        this.startTime = System.currentTimeMillis();
+    }
+
+    public void updateNodesExplored(long totalNodes) {
+        long delta = totalNodes - nodesExplored;
+        nodesExplored = totalNodes;
+        if (parent != null && delta > 0) {
+            parent.addNodesExplored(delta);
+        }
+    }
+
+    private synchronized void addNodesExplored(long delta) {
+        updateNodesExplored(nodesExplored + delta);
+    }
+
+    public void offerIncumbent(ScheduleState schedule) {
+        if (schedule == null || !schedule.isComplete()) {
+            return;
+        }
+        ScheduleState previous;
+        synchronized (this) {
+            previous = bestSchedule;
+            if (previous == null || schedule.costSoFar() < previous.costSoFar()) {
+                bestSchedule = schedule;
+            }
+        }
+        if (parent != null && shareIncumbents) {
+            parent.offerIncumbent(schedule);
+        } else if (bestSchedule == schedule) {
+            recordImprovement(schedule, previous);
+        }
+    }
+
+    /**
+     * Only the top of a sharing chain records, so every improvement of a problem's incumbent is one event.
+     */
+    private void recordImprovement(ScheduleState schedule, ScheduleState previous) {
+        IncumbentImprovedEvent event = new IncumbentImprovedEvent();
+        if (event.isEnabled()) {
+            event.cost = schedule.costSoFar();
+            event.previousCost = previous != null ? previous.costSoFar() : -1;
+            event.nodesExplored = nodesExplored;
+            event.elapsedMs = getElapsedMs();
+            event.commit();
+        }
+    }
+
+    public long getNodesExplored() {
+        return nodesExplored;
+    }
+
+    public ScheduleState getBestSchedule() {
+        return bestSchedule;
+    }
+
+    /**
+     * Cost of the best known complete schedule, including incumbents shared by the parent; strategies may
+     * prune anything that cannot beat it.
+     */
+    public int getBestCost() {
+        ScheduleState best = bestSchedule;
+        int cost = best != null ? best.costSoFar() : Integer.MAX_VALUE;
+        return parent != null && shareIncumbents ? Math.min(cost, parent.getBestCost()) : cost;
+    }
+
+    /**
+     * Called by a strategy that finished its search exhaustively, i.e. no schedule cheaper than
+     * {@link #getBestCost()} exists.
+     */
+    public void markProvenOptimal() {
+        provenOptimal = true;
+    }
+
+    public boolean isProvenOptimal() {
+        return provenOptimal;
+    }
+
+    /**
+     * Called by a strategy that proved no complete schedule costs less than {@code lowerBound}. Shared with
+     * the parent like incumbents, since it bounds the same problem.
+     */
+    public void offerLowerBound(int lowerBound) {
+        synchronized (this) {
+            this.lowerBound = Math.max(this.lowerBound, lowerBound);
+        }
+        if (parent != null && shareIncumbents) {
+            parent.offerLowerBound(lowerBound);
+        }
+    }
+
+    /**
+     * Highest lower bound on the optimal cost reported so far, 0 if none. The best cost divided by this is
+     * how far the incumbent is at most from optimal.
+     */
+    public int getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Called by a strategy that stopped on a node, time or cancellation limit; linked children report to the
+     * parent as well.
+     */
+    public void markLimitReached() {
+        limitReached = true;
+        if (parent != null) {
+            parent.markLimitReached();
+        }
+    }
+
+    public boolean isLimitReached() {
+        return limitReached;
+    }
+
+    public long getElapsedMs() {
+        return System.currentTimeMillis() - startTime;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled || (parent != null && parent.isCancelled());
+    }
+}
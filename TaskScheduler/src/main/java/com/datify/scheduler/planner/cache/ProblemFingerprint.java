@@ -0,0 +1,276 @@
+package com.datify.scheduler.planner.cache;
+
+import com.datify.scheduler.model.Placement;
+import com.datify.scheduler.model.ScheduleState;
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.planner.strategy.IPlanningStrategy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.BiPredicate;
+
+/**
+ * Identity of a planning problem that ignores task UUIDs. Tasks are put into a canonical order derived
+ * from their contents and their position in the dependency graph, and the digest covers every task in
+ * that order together with its dependencies expressed as canonical indices. Two problems with equal
+ * fingerprints are therefore isomorphic under {@link #canonicalTasks()}.
+ */
+public final class ProblemFingerprint {
+    private static final int MAX_SINGLED_OUT = 16;
+
+    private final String digest;
+    private final List<Task> canonicalTasks;
+
+    private ProblemFingerprint(String digest, List<Task> canonicalTasks) {
+        this.digest = digest;
+        this.canonicalTasks = canonicalTasks;
+    }
+
+    public static ProblemFingerprint of(ScheduleState scheduleState, IPlanningStrategy strategy) {
+        Map<UUID, Task> tasks = new HashMap<>(scheduleState.unplacedTasks());
+        for (Placement placement : scheduleState.placedTasks().values()) {
+            tasks.put(placement.task().getId(), placement.task());
+        }
+
+        List<Task> ordered = canonicalOrder(tasks, scheduleState.placedTasks());
+
+        Map<UUID, Integer> canonicalIndex = new HashMap<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            canonicalIndex.put(ordered.get(i).getId(), i);
+        }
+
+        StringBuilder canonical = new StringBuilder(strategy.configurationKey()).append('\n');
+        for (Task task : ordered) {
+            canonical.append(contentOf(task, scheduleState.placedTasks())).append("->");
+            task.getDependencyIds().stream()
+                    .map(depId -> canonicalIndex.containsKey(depId) ? canonicalIndex.get(depId).toString() : "?")
+                    .sorted()
+                    .forEach(dep -> canonical.append(dep).append(','));
+            canonical.append('\n');
+        }
+
+        return new ProblemFingerprint(sha256(canonical.toString()), List.copyOf(ordered));
+    }
+
+    /**
+     * Tasks of the fingerprinted problem in canonical order; index {@code i} of two equal fingerprints
+     * refers to tasks that play the same role in their respective problems.
+     */
+    public List<Task> canonicalTasks() {
+        return canonicalTasks;
+    }
+
+    /**
+     * Sorts by structural signature and content, then refines: tasks that tie are told apart by the ranks of
+     * their dependencies and dependents until no more ties split. Tasks still tied then look the same from
+     * every direction; a tie among tasks without any dependency edges is broken by position, otherwise the
+     * first task of the first tie is singled out and refinement resumes. After {@link #MAX_SINGLED_OUT} of
+     * those rounds all remaining ties are broken by position, which keeps large symmetric inputs fast at the
+     * price of a possible cache miss: equal digests still mean isomorphic problems.
+     */
+    private static List<Task> canonicalOrder(Map<UUID, Task> taskMap, Map<UUID, Placement> placed) {
+        Map<UUID, Long> signatures = structuralSignatures(taskMap, placed);
+        List<Task> tasks = new ArrayList<>(taskMap.values());
+        int n = tasks.size();
+        Map<UUID, Integer> indexById = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indexById.put(tasks.get(i).getId(), i);
+        }
+        long[] signature = new long[n];
+        String[] content = new String[n];
+        int[][] dependencies = new int[n][];
+        List<List<Integer>> dependentLists = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            dependentLists.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            Task task = tasks.get(i);
+            signature[i] = signatures.get(task.getId());
+            content[i] = contentOf(task, placed);
+            dependencies[i] = task.getDependencyIds().stream().filter(indexById::containsKey).mapToInt(indexById::get).toArray();
+            for (int dep : dependencies[i]) {
+                dependentLists.get(dep).add(i);
+            }
+        }
+        int[][] dependents = new int[n][];
+        for (int i = 0; i < n; i++) {
+            dependents[i] = dependentLists.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> signature[i]).thenComparing(i -> content[i]));
+        int[] rank = new int[n];
+        int classes = rank(order, (a, b) -> signature[a] == signature[b] && content[a].equals(content[b]), rank);
+
+        int singledOut = 0;
+        int[][] keys = new int[n][];
+        while (classes < n) {
+            for (int i = 0; i < n; i++) {
+                keys[i] = refinementKey(i, rank, dependencies[i], dependents[i]);
+            }
+            Arrays.sort(order, (a, b) -> Arrays.compare(keys[a], keys[b]));
+            int refined = rank(order, (a, b) -> Arrays.equals(keys[a], keys[b]), rank);
+            if (refined == classes) {
+                refined = breakTies(order, rank, dependencies, dependents, singledOut++ >= MAX_SINGLED_OUT);
+            }
+            classes = refined;
+        }
+
+        List<Task> ordered = new ArrayList<>(n);
+        for (int i : order) {
+            ordered.add(tasks.get(i));
+        }
+        return ordered;
+    }
+
+    private static int[] refinementKey(int task, int[] rank, int[] dependencies, int[] dependents) {
+        int[] key = new int[2 + dependencies.length + dependents.length];
+        key[0] = rank[task];
+        key[1] = dependencies.length;
+        for (int i = 0; i < dependencies.length; i++) {
+            key[2 + i] = rank[dependencies[i]];
+        }
+        for (int i = 0; i < dependents.length; i++) {
+            key[2 + dependencies.length + i] = rank[dependents[i]];
+        }
+        Arrays.sort(key, 2, 2 + dependencies.length);
+        Arrays.sort(key, 2 + dependencies.length, key.length);
+        return key;
+    }
+
+    /**
+     * Ranks {@code order}, in which equal tasks are adjacent, by the position of the first task of their run.
+     */
+    private static int rank(Integer[] order, BiPredicate<Integer, Integer> equal, int[] rank) {
+        int classes = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (i == 0 || !equal.test(order[i - 1], order[i])) {
+                classes++;
+                rank[order[i]] = i;
+            } else {
+                rank[order[i]] = rank[order[i - 1]];
+            }
+        }
+        return classes;
+    }
+
+    private static int breakTies(Integer[] order, int[] rank, int[][] dependencies, int[][] dependents, boolean byPosition) {
+        int[] before = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            before[i] = rank[order[i]];
+        }
+        int firstTie = -1;
+        for (int i = 1; i < order.length; i++) {
+            if (before[i] != before[i - 1]) {
+                continue;
+            }
+            if (byPosition || dependencies[order[i]].length == 0 && dependents[order[i]].length == 0) {
+                rank[order[i]] = i;
+            } else if (firstTie < 0) {
+                firstTie = i;
+            }
+        }
+        if (firstTie >= 0) {
+            for (int i = firstTie; i < order.length && before[i] == before[firstTie]; i++) {
+                rank[order[i]] = firstTie;
+            }
+        }
+        int classes = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (i == 0 || rank[order[i]] != rank[order[i - 1]]) {
+                classes++;
+            }
+        }
+        return classes;
+    }
+
+    private static Map<UUID, Long> structuralSignatures(Map<UUID, Task> tasks, Map<UUID, Placement> placed) {
+        Map<UUID, List<UUID>> successors = new HashMap<>();
+        Map<UUID, Integer> pendingDependencies = new HashMap<>();
+        Deque<UUID> ready = new ArrayDeque<>();
+        for (Task task : tasks.values()) {
+            int pending = 0;
+            for (UUID depId : task.getDependencyIds()) {
+                if (tasks.containsKey(depId)) {
+                    successors.computeIfAbsent(depId, key -> new ArrayList<>()).add(task.getId());
+                    pending++;
+                }
+            }
+            pendingDependencies.put(task.getId(), pending);
+            if (pending == 0) ready.add(task.getId());
+        }
+
+        Map<UUID, Long> down = new HashMap<>();
+        while (!ready.isEmpty()) {
+            UUID id = ready.poll();
+            List<Long> depSignatures = new ArrayList<>();
+            for (UUID depId : tasks.get(id).getDependencyIds()) {
+                depSignatures.add(down.getOrDefault(depId, 0L));
+            }
+            down.put(id, combine(contentOf(tasks.get(id), placed).hashCode(), depSignatures));
+            for (UUID successorId : successors.getOrDefault(id, List.of())) {
+                if (pendingDependencies.merge(successorId, -1, Integer::sum) == 0) {
+                    ready.add(successorId);
+                }
+            }
+        }
+
+        Map<UUID, Long> signatures = new HashMap<>();
+        for (UUID id : tasks.keySet()) {
+            long own = down.getOrDefault(id, (long) contentOf(tasks.get(id), placed).hashCode());
+            List<Long> successorSignatures = new ArrayList<>();
+            for (UUID successorId : successors.getOrDefault(id, List.of())) {
+                successorSignatures.add(down.getOrDefault(successorId, 0L));
+            }
+            signatures.put(id, combine(own, successorSignatures));
+        }
+        return signatures;
+    }
+
+    private static long combine(long seed, List<Long> parts) {
+        Collections.sort(parts);
+        long hash = seed * 0x9E3779B97F4A7C15L;
+        for (long part : parts) {
+            hash = (hash ^ part) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static String contentOf(Task task, Map<UUID, Placement> placed) {
+        Placement placement = placed.get(task.getId());
+        return task.getName() + '|' + task.getDescription() + '|' + task.getDuration().toMinutes() + '|'
+                + task.getIdealTimeWindows().stream().map(Object::toString).sorted().toList() + '|'
+                + (placement != null ? placement.timeSlot() : "-");
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ProblemFingerprint that)) return false;
+        return digest.equals(that.digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return digest.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ProblemFingerprint{" + digest.substring(0, 12) + ", tasks=" + canonicalTasks.size() + '}';
+    }
+}
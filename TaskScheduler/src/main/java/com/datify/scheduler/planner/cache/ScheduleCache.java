@@ -0,0 +1,72 @@
+package com.datify.scheduler.planner.cache;
+
+import com.datify.scheduler.model.Placement;
+import com.datify.scheduler.model.ScheduleState;
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.model.TimeSlot;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+
+/**
+ * LRU cache of solved schedules keyed by {@link ProblemFingerprint}. Results are stored by canonical task
+ * index, so a hit for a problem with freshly generated task IDs is returned with its own tasks.
+ */
+@Slf4j
+public class ScheduleCache {
+    private final Map<ProblemFingerprint, CachedSchedule> entries;
+
+    public ScheduleCache(int maxEntries) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("maxEntries must be > 0");
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ProblemFingerprint, CachedSchedule> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized ScheduleState get(ProblemFingerprint fingerprint) {
+        CachedSchedule cached = entries.get(fingerprint);
+        if (cached == null) {
+            return null;
+        }
+        log.debug("Schedule cache hit for {}", fingerprint);
+        return cached.remapTo(fingerprint.canonicalTasks());
+    }
+
+    public synchronized void put(ProblemFingerprint fingerprint, ScheduleState schedule) {
+        List<Task> tasks = fingerprint.canonicalTasks();
+        TimeSlot[] slots = new TimeSlot[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            Placement placement = schedule.placedTasks().get(tasks.get(i).getId());
+            slots[i] = placement != null ? placement.timeSlot() : null;
+        }
+        entries.put(fingerprint, new CachedSchedule(slots, schedule.costSoFar(), schedule.totalCostEstimated()));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private record CachedSchedule(TimeSlot[] slotsByIndex, int costSoFar, int totalCostEstimated) {
+
+        ScheduleState remapTo(List<Task> tasks) {
+            Map<UUID, Placement> placed = new HashMap<>();
+            Map<UUID, Task> unplaced = new HashMap<>();
+            for (int i = 0; i < tasks.size(); i++) {
+                Task task = tasks.get(i);
+                if (slotsByIndex[i] != null) {
+                    placed.put(task.getId(), new Placement(task, slotsByIndex[i]));
+                } else {
+                    unplaced.put(task.getId(), task);
+                }
+            }
+            return new ScheduleState(placed, unplaced, costSoFar, totalCostEstimated);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.datify.scheduler.planner.frontier;
+
+import com.datify.scheduler.model.ScheduleState;
+
+/**
+ * Open list of a best-first search, polled in ascending order of a priority computed once per state when it
+ * is added; by default the state's {@link ScheduleState#totalCostEstimated()}.
+ */
+public interface Frontier extends AutoCloseable {
+
+    void add(ScheduleState scheduleState);
+
+    /**
+     * Removes and returns a state with the lowest priority, or {@code null} if the frontier is empty.
+     */
+    ScheduleState poll();
+
+    boolean isEmpty();
+
+    long size();
+
+    @Override
+    default void close() {
+    }
+}
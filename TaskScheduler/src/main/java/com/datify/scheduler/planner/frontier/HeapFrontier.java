@@ -0,0 +1,44 @@
+package com.datify.scheduler.planner.frontier;
+
+import com.datify.scheduler.model.ScheduleState;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.function.ToIntFunction;
+
+/**
+ * In-memory frontier. Ties on priority go to the state with fewer unplaced tasks, which is closer to a
+ * complete schedule.
+ */
+public class HeapFrontier implements Frontier {
+    private final PriorityQueue<ScheduleState> queue;
+
+    public HeapFrontier() {
+        this(ScheduleState::totalCostEstimated);
+    }
+
+    public HeapFrontier(ToIntFunction<ScheduleState> priority) {
+        this.queue = new PriorityQueue<>(Comparator.comparingInt(priority)
+                .thenComparingInt(scheduleState -> scheduleState.unplacedTasks().size()));
+    }
+
+    @Override
+    public void add(ScheduleState scheduleState) {
+        queue.add(scheduleState);
+    }
+
+    @Override
+    public ScheduleState poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public long size() {
+        return queue.size();
+    }
+}
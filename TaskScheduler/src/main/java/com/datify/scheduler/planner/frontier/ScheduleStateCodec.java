@@ -0,0 +1,81 @@
+package com.datify.scheduler.planner.frontier;
+
+import com.datify.scheduler.model.PackedSlot;
+import com.datify.scheduler.model.Placement;
+import com.datify.scheduler.model.ScheduleState;
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.model.TimeSlot;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Compact binary form of the states of one search. Tasks are referenced by index into the task set of the
+ * start state, so a record is its length, both costs and one (task, packed slot) pair per placement; the
+ * unplaced tasks are whatever is left. The sign bit of the task reference marks dated slots.
+ */
+public class ScheduleStateCodec {
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+    private static final int PLACEMENT_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int DATED_FLAG = 1 << 31;
+
+    private final Task[] tasks;
+    private final Map<UUID, Integer> indexById;
+
+    public ScheduleStateCodec(ScheduleState startScheduleState) {
+        List<Task> all = new ArrayList<>(startScheduleState.unplacedTasks().values());
+        for (Placement placement : startScheduleState.placedTasks().values()) {
+            all.add(placement.task());
+        }
+        tasks = all.toArray(new Task[0]);
+        indexById = new HashMap<>(tasks.length * 2);
+        for (int i = 0; i < tasks.length; i++) {
+            indexById.put(tasks[i].getId(), i);
+        }
+    }
+
+    public int encodedSize(ScheduleState scheduleState) {
+        return HEADER_BYTES + scheduleState.placedTasks().size() * PLACEMENT_BYTES;
+    }
+
+    /**
+     * Writes the record at the buffer's position, starting with its length in bytes (always positive).
+     */
+    public void encode(ScheduleState scheduleState, ByteBuffer buffer) {
+        buffer.putInt(encodedSize(scheduleState));
+        buffer.putInt(scheduleState.costSoFar());
+        buffer.putInt(scheduleState.totalCostEstimated());
+        buffer.putInt(scheduleState.placedTasks().size());
+        for (Placement placement : scheduleState.placedTasks().values()) {
+            Integer index = indexById.get(placement.task().getId());
+            if (index == null) {
+                throw new IllegalArgumentException("Task " + placement.task().getName() + " is not part of this search");
+            }
+            TimeSlot slot = placement.timeSlot();
+            buffer.putInt(slot.isDated() ? index | DATED_FLAG : index);
+            buffer.putLong(slot.toPacked());
+        }
+    }
+
+    public ScheduleState decode(ByteBuffer buffer) {
+        buffer.getInt();
+        int costSoFar = buffer.getInt();
+        int totalCostEstimated = buffer.getInt();
+        int count = buffer.getInt();
+
+        Map<UUID, Placement> placed = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            int reference = buffer.getInt();
+            long packed = buffer.getLong();
+            Task task = tasks[reference & ~DATED_FLAG];
+            placed.put(task.getId(), new Placement(task, PackedSlot.toTimeSlot(packed, (reference & DATED_FLAG) != 0)));
+        }
+        Map<UUID, Task> unplaced = new HashMap<>();
+        for (Task task : tasks) {
+            if (!placed.containsKey(task.getId())) {
+                unplaced.put(task.getId(), task);
+            }
+        }
+        return new ScheduleState(placed, unplaced, costSoFar, totalCostEstimated);
+    }
+}
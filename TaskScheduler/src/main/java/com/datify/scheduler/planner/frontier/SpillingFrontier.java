@@ -0,0 +1,193 @@
+package com.datify.scheduler.planner.frontier;
+
+import com.datify.scheduler.model.ScheduleState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Frontier with a bounded heap footprint. States are bucketed by priority; each bucket keeps
+ * recent states on heap and, once more than {@code hotCapacity} states are on heap, the most expensive
+ * buckets are encoded with {@link ScheduleStateCodec} into a memory-mapped file of their own. Polling takes
+ * the cheapest bucket, newest on-heap state first, then reads its spilled states back in write order.
+ * Records never straddle a mapped segment; the zero-filled tail of a segment marks a jump to the next one.
+ */
+@Slf4j
+public class SpillingFrontier implements Frontier {
+    private static final int SEGMENT_BYTES = 4 << 20;
+
+    private final Path directory;
+    private final int hotCapacity;
+    private final ScheduleStateCodec codec;
+    private final ToIntFunction<ScheduleState> priority;
+    private final TreeMap<Integer, Bucket> buckets = new TreeMap<>();
+    private int hotCount;
+    private long size;
+    private long spilledCount;
+
+    public SpillingFrontier(Path directory, int hotCapacity, ScheduleStateCodec codec) {
+        this(directory, hotCapacity, codec, ScheduleState::totalCostEstimated);
+    }
+
+    public SpillingFrontier(Path directory, int hotCapacity, ScheduleStateCodec codec, ToIntFunction<ScheduleState> priority) {
+        if (directory == null) throw new IllegalArgumentException("Spill directory cannot be null");
+        if (hotCapacity <= 0) throw new IllegalArgumentException("hotCapacity must be > 0");
+        this.directory = directory;
+        this.hotCapacity = hotCapacity;
+        this.codec = codec;
+        this.priority = priority;
+    }
+
+    @Override
+    public void add(ScheduleState scheduleState) {
+        buckets.computeIfAbsent(priority.applyAsInt(scheduleState), Bucket::new).hot.push(scheduleState);
+        hotCount++;
+        size++;
+        if (hotCount > hotCapacity) {
+            spill();
+        }
+    }
+
+    @Override
+    public ScheduleState poll() {
+        Map.Entry<Integer, Bucket> cheapest = buckets.firstEntry();
+        if (cheapest == null) {
+            return null;
+        }
+        Bucket bucket = cheapest.getValue();
+        ScheduleState state;
+        if (!bucket.hot.isEmpty()) {
+            state = bucket.hot.pop();
+            hotCount--;
+        } else {
+            state = bucket.readSpilled();
+        }
+        if (bucket.isEmpty()) {
+            bucket.close();
+            buckets.remove(cheapest.getKey());
+        }
+        size--;
+        return state;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Moves on-heap states of the most expensive buckets to disk until half the hot capacity is free.
+     */
+    private void spill() {
+        Iterator<Bucket> mostExpensiveFirst = buckets.descendingMap().values().iterator();
+        while (hotCount > hotCapacity / 2 && mostExpensiveFirst.hasNext()) {
+            Bucket bucket = mostExpensiveFirst.next();
+            while (!bucket.hot.isEmpty() && hotCount > hotCapacity / 2) {
+                bucket.writeSpilled(bucket.hot.removeLast());
+                hotCount--;
+                spilledCount++;
+            }
+        }
+        log.debug("Frontier spilled to disk: {} states in total, {} on heap", spilledCount, hotCount);
+    }
+
+    @Override
+    public void close() {
+        for (Bucket bucket : buckets.values()) {
+            bucket.close();
+        }
+        buckets.clear();
+        hotCount = 0;
+        size = 0;
+    }
+
+    private final class Bucket {
+        private final int key;
+        private final ArrayDeque<ScheduleState> hot = new ArrayDeque<>();
+        private FileChannel channel;
+        private MappedByteBuffer writeSegment;
+        private MappedByteBuffer readSegment;
+        private long writeSegmentStart;
+        private long readSegmentStart;
+        private long writePosition;
+        private long readPosition;
+
+        private Bucket(int key) {
+            this.key = key;
+        }
+
+        private boolean isEmpty() {
+            return hot.isEmpty() && readPosition == writePosition;
+        }
+
+        private void writeSpilled(ScheduleState scheduleState) {
+            int recordBytes = codec.encodedSize(scheduleState);
+            if (recordBytes > SEGMENT_BYTES) {
+                throw new IllegalStateException("State of " + recordBytes + " bytes does not fit a frontier segment");
+            }
+            try {
+                if (channel == null) {
+                    Path file = Files.createTempFile(directory, "frontier-" + key + "-", ".bin");
+                    channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                            StandardOpenOption.DELETE_ON_CLOSE);
+                    writeSegment = channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_BYTES);
+                }
+                if (writeSegment.remaining() < recordBytes) {
+                    writeSegmentStart += SEGMENT_BYTES;
+                    writeSegment = channel.map(FileChannel.MapMode.READ_WRITE, writeSegmentStart, SEGMENT_BYTES);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not spill frontier states to " + directory, e);
+            }
+            codec.encode(scheduleState, writeSegment);
+            writePosition = writeSegmentStart + writeSegment.position();
+        }
+
+        private ScheduleState readSpilled() {
+            try {
+                if (readSegment == null) {
+                    readSegment = channel.map(FileChannel.MapMode.READ_ONLY, 0, SEGMENT_BYTES);
+                }
+                if (readSegment.remaining() < Integer.BYTES || readSegment.getInt(readSegment.position()) == 0) {
+                    readSegmentStart += SEGMENT_BYTES;
+                    readSegment = channel.map(FileChannel.MapMode.READ_ONLY, readSegmentStart, SEGMENT_BYTES);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read spilled frontier states from " + directory, e);
+            }
+            ScheduleState state = codec.decode(readSegment);
+            readPosition = readSegmentStart + readSegment.position();
+            return state;
+        }
+
+        private void close() {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Could not delete frontier spill file for priority {}", key, e);
+            }
+            channel = null;
+            writeSegment = null;
+            readSegment = null;
+        }
+    }
+}
@@ -2,58 +2,528 @@ package com.datify.scheduler.planner.strategy;
 
 import com.datify.scheduler.config.CostConfig;
 import com.datify.scheduler.config.SchedulerConfig;
+import com.datify.scheduler.cost.SortedScheduleView;
+import com.datify.scheduler.model.DependencyIndex;
 import com.datify.scheduler.model.Placement;
 import com.datify.scheduler.model.ScheduleState;
 import com.datify.scheduler.model.Task;
+import com.datify.scheduler.planner.SearchMonitor;
+import com.datify.scheduler.planner.frontier.Frontier;
+import com.datify.scheduler.planner.frontier.HeapFrontier;
+import com.datify.scheduler.planner.frontier.ScheduleStateCodec;
+import com.datify.scheduler.planner.frontier.SpillingFrontier;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Comparator;
-import java.util.PriorityQueue;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 @Slf4j
 public class AStarStrategy extends AbstractPlanningStrategy {
 
+    /**
+     * Which unplaced tasks a node is expanded on. {@link #ALL_TASKS} branches on every task, so each partial
+     * schedule is reachable in every placement order. {@link #MRV} (fewest placements, longest chain of
+     * work behind it on ties) and {@link #TOPOLOGICAL} (first unplaced task in dependency order) branch on a
+     * single task, which gives every partial schedule one canonical path without losing optimality.
+     */
+    public enum ExpansionOrder { ALL_TASKS, MRV, TOPOLOGICAL }
+
+    private static final long IDLE_PARK_NANOS = 50_000;
+
+    private final IPlanningStrategy warmStartStrategy;
+    private final ExpansionOrder expansionOrder;
+    private final Path spillDirectory;
+    private final int hotFrontierCapacity;
+    private final double weight;
+    private final int threads;
+
     public AStarStrategy(SchedulerConfig schedulerConfig, CostConfig costConfig) {
-        super(schedulerConfig, costConfig);
+        this(new AStarBuilder(schedulerConfig, costConfig));
+    }
+
+    public AStarStrategy(SchedulerConfig schedulerConfig, CostConfig costConfig, IPlanningStrategy warmStartStrategy) {
+        this(new AStarBuilder(schedulerConfig, costConfig).warmStart(warmStartStrategy));
+    }
+
+    public AStarStrategy(AStarBuilder builder) {
+        super(builder.schedulerConfig, builder.costConfig);
+        this.warmStartStrategy = builder.warmStartStrategy;
+        this.expansionOrder = builder.expansionOrder;
+        this.spillDirectory = builder.spillDirectory;
+        this.hotFrontierCapacity = builder.hotFrontierCapacity;
+        this.weight = builder.weight;
+        this.threads = builder.threads;
+        if (threads > 1 && spillDirectory != null) {
+            throw new IllegalArgumentException("Spilling the frontier to disk is only supported with a single thread");
+        }
+    }
+
+    @Override
+    public String configurationKey() {
+        String key = super.configurationKey() + "+expansion:" + expansionOrder + "+weight:" + weight + "+threads:" + threads;
+        return warmStartStrategy == null ? key : key + "+warmStart:" + warmStartStrategy.configurationKey();
     }
 
     @Override
-    public ScheduleState findSchedule(ScheduleState startScheduleState) {
+    public ScheduleState findSchedule(ScheduleState startScheduleState, SearchMonitor monitor) {
         if (startScheduleState == null) {
             throw new IllegalArgumentException("Start state cannot be null");
         }
 
-        PriorityQueue<ScheduleState> frontier = new PriorityQueue<>(Comparator.comparingInt(ScheduleState::totalCostEstimated));
-        frontier.add(startScheduleState);
-        ScheduleState bestSolution = null;
+        if (threads > 1) {
+            return new HashDistributedSearch(startScheduleState, monitor).run();
+        }
+        try (Frontier frontier = createFrontier(startScheduleState)) {
+            frontier.add(startScheduleState);
+            return search(frontier, startScheduleState, monitor);
+        }
+    }
+
+    private Frontier createFrontier(ScheduleState startScheduleState) {
+        return spillDirectory == null ? new HeapFrontier(this::priority)
+                : new SpillingFrontier(spillDirectory, hotFrontierCapacity, new ScheduleStateCodec(startScheduleState), this::priority);
+    }
+
+    private ScheduleState search(Frontier frontier, ScheduleState startScheduleState, SearchMonitor monitor) {
+        ScheduleState bestSolution = findWarmStartIncumbent(warmStartStrategy, startScheduleState, monitor);
+        DependencyIndex dependencyIndex = buildDependencyIndex(startScheduleState);
         int nodesExplored = 0;
         long startTime = System.currentTimeMillis();
+        long peakFrontier = 0;
+        TreeMap<Integer, Integer> openEstimates = new TreeMap<>(Map.of(startScheduleState.totalCostEstimated(), 1));
+        int lowerBound = Integer.MAX_VALUE;
 
         while (!frontier.isEmpty()) {
             ScheduleState current = frontier.poll();
             nodesExplored++;
 
+            int bound = upperBound(bestSolution, monitor);
+            int lowestOpen = openEstimates.firstKey();
+            openEstimates.computeIfPresent(current.totalCostEstimated(), (estimate, count) -> count == 1 ? null : count - 1);
+            if (bound <= weight * lowestOpen) {
+                lowerBound = lowestOpen;
+                break;
+            }
+
             if (current.isComplete()) {
                 if (bestSolution == null || current.costSoFar() < bestSolution.costSoFar()) {
                     bestSolution = current;
+                    monitor.offerIncumbent(current);
                 }
                 continue;
             }
 
-            if (limitReached(nodesExplored, startTime)) {
+            if (limitReached(nodesExplored, startTime, monitor)) {
                 log.warn("A* search stopped: node or time limit reached");
+                lowerBound = lowestOpen;
                 break;
             }
 
-            for (Task task : current.unplacedTasks().values()) {
-                for (Placement placement : generatePlacements(task, current)) {
-                    ScheduleState next = createStateWithPlacement(current, task, placement);
-                    frontier.add(next);
+            SortedScheduleView view = scheduleView(current);
+            for (Map.Entry<Task, List<Placement>> expansion : expansions(current, view, dependencyIndex).entrySet()) {
+                Task task = expansion.getKey();
+                for (Placement placement : expansion.getValue()) {
+                    ScheduleState next = createStateWithPlacement(current, view, task, placement);
+                    if (next.totalCostEstimated() < bound) {
+                        frontier.add(next);
+                        openEstimates.merge(next.totalCostEstimated(), 1, Integer::sum);
+                    }
                 }
             }
+            peakFrontier = Math.max(peakFrontier, frontier.size());
         }
 
-        log.info("A* search explored {} nodes", nodesExplored);
+        monitor.updateNodesExplored(nodesExplored);
+        log.info("A* search explored {} nodes, peak frontier {} states", nodesExplored, peakFrontier);
+        reportBounds(bestSolution, lowerBound, monitor);
         return bestSolution != null ? bestSolution : startScheduleState;
     }
+
+    private void reportBounds(ScheduleState bestSolution, int lowerBound, SearchMonitor monitor) {
+        int upperBound = upperBound(bestSolution, monitor);
+        lowerBound = Math.min(lowerBound, upperBound);
+        monitor.offerLowerBound(lowerBound);
+        if (lowerBound >= upperBound) {
+            monitor.markProvenOptimal();
+        }
+        if (upperBound != Integer.MAX_VALUE && lowerBound < upperBound) {
+            log.info("A* result cost {} is within {} of optimal (lower bound {})",
+                    upperBound, String.format("%.3fx", (double) upperBound / Math.max(1, lowerBound)), lowerBound);
+        }
+    }
+
+    private Map<Task, List<Placement>> expansions(ScheduleState current, SortedScheduleView view, DependencyIndex dependencyIndex) {
+        int[] endMinutes = dependencyIndex.endMinutes(current.placedTasks());
+        Map<Task, List<Placement>> expansions = new LinkedHashMap<>();
+        switch (expansionOrder) {
+            case ALL_TASKS -> {
+                for (int index = 0; index < dependencyIndex.size(); index++) {
+                    if (endMinutes[index] == DependencyIndex.UNPLACED) {
+                        Task task = dependencyIndex.task(index);
+                        expansions.put(task, generatePlacements(task, dependencyIndex.earliestStart(index, endMinutes), view.slots()));
+                    }
+                }
+            }
+            case TOPOLOGICAL -> {
+                for (int index : dependencyIndex.topologicalOrder()) {
+                    if (endMinutes[index] == DependencyIndex.UNPLACED) {
+                        Task task = dependencyIndex.task(index);
+                        expansions.put(task, generatePlacements(task, dependencyIndex.earliestStart(index, endMinutes), view.slots()));
+                        break;
+                    }
+                }
+            }
+            case MRV -> {
+                int mostConstrained = -1;
+                int mostConstrainedStart = 0;
+                int fewest = Integer.MAX_VALUE;
+                int longestTail = -1;
+                for (int index = 0; index < dependencyIndex.size(); index++) {
+                    if (endMinutes[index] != DependencyIndex.UNPLACED) {
+                        continue;
+                    }
+                    int earliestStart = dependencyIndex.earliestStart(index, endMinutes);
+                    if (earliestStart == DependencyIndex.UNPLACED) {
+                        continue;
+                    }
+                    int placementCount = countPlacements(dependencyIndex.task(index), earliestStart, view.slots());
+                    if (placementCount == 0) {
+                        return Map.of();
+                    }
+                    int tail = dependencyIndex.tailMinutes(index);
+                    if (placementCount < fewest || (placementCount == fewest && tail > longestTail)) {
+                        mostConstrained = index;
+                        mostConstrainedStart = earliestStart;
+                        fewest = placementCount;
+                        longestTail = tail;
+                    }
+                }
+                if (mostConstrained >= 0) {
+                    Task task = dependencyIndex.task(mostConstrained);
+                    expansions.put(task, generatePlacements(task, mostConstrainedStart, view.slots()));
+                }
+            }
+        }
+        return expansions;
+    }
+
+    /**
+     * Frontier order: f = g + h, or g + weight * h in bounded-suboptimal mode, which dives towards complete
+     * schedules instead of widening the frontier on every tie in f.
+     */
+    private int priority(ScheduleState scheduleState) {
+        if (weight == 1.0) {
+            return scheduleState.totalCostEstimated();
+        }
+        int g = scheduleState.costSoFar();
+        return g + (int) (weight * (scheduleState.totalCostEstimated() - g));
+    }
+
+    private int upperBound(ScheduleState bestSolution, SearchMonitor monitor) {
+        int own = bestSolution != null ? bestSolution.costSoFar() : Integer.MAX_VALUE;
+        return Math.min(own, monitor.getBestCost());
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    private static long placementHash(UUID taskId, long slot) {
+        return mix(taskId.getMostSignificantBits() ^ mix(taskId.getLeastSignificantBits() ^ mix(slot)));
+    }
+
+    /**
+     * Sum of the placement hashes, so equal sets of placements hash equally whatever order they were made in,
+     * and a child's hash is its parent's plus one term.
+     */
+    private static long stateHash(ScheduleState scheduleState) {
+        long hash = 0;
+        for (Placement placement : scheduleState.placedTasks().values()) {
+            hash += placementHash(placement.task().getId(), placement.timeSlot().toPacked());
+        }
+        return hash;
+    }
+
+    /**
+     * Hash-distributed A* (HDA*). Every state belongs to the worker its {@link #stateHash} maps to; workers
+     * expand their own best states and send children to the owner through lock-free inboxes, so duplicate
+     * detection is local and needs no locks. Equal placements mean equal cost, so a duplicate is simply
+     * dropped. {@code outstanding} counts states generated but not yet expanded or pruned: children are
+     * counted before their parent is released, so it only reaches zero once every state that could beat the
+     * incumbent has been expanded, which keeps the result optimal (or within the weight) as in the serial
+     * search. The node limit applies to {@code totalNodes}, the expansions of all workers together; the first
+     * worker to reach a limit stops them all.
+     */
+    private final class HashDistributedSearch {
+        private final ScheduleState startScheduleState;
+        private final SearchMonitor monitor;
+        private final DependencyIndex dependencyIndex;
+        private final Worker[] workers = new Worker[threads];
+        private final AtomicLong outstanding = new AtomicLong();
+        private final AtomicLong totalNodes = new AtomicLong();
+        private final long startTime = System.currentTimeMillis();
+        private volatile boolean stopped;
+
+        private HashDistributedSearch(ScheduleState startScheduleState, SearchMonitor monitor) {
+            this.startScheduleState = startScheduleState;
+            this.monitor = monitor;
+            this.dependencyIndex = buildDependencyIndex(startScheduleState);
+        }
+
+        private ScheduleState run() {
+            ScheduleState bestSolution = findWarmStartIncumbent(warmStartStrategy, startScheduleState, monitor);
+            for (int i = 0; i < threads; i++) {
+                workers[i] = new Worker(new SearchMonitor(monitor));
+            }
+            long startHash = stateHash(startScheduleState);
+            outstanding.incrementAndGet();
+            workers[owner(startHash)].inbox.add(new Hashed(startScheduleState, startHash));
+
+            AtomicInteger counter = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "astar-worker-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (Worker worker : workers) {
+                    futures.add(executor.submit(worker));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                stopped = true;
+                awaitWorkers(executor);
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                stopped = true;
+                throw new IllegalStateException("A* worker failed", e.getCause());
+            } finally {
+                executor.shutdown();
+            }
+
+            long duplicates = 0;
+            int lowerBound = Integer.MAX_VALUE;
+            for (Worker worker : workers) {
+                duplicates += worker.duplicates;
+                lowerBound = Math.min(lowerBound, worker.lowestUnexpandedEstimate());
+                if (worker.bestSolution != null && (bestSolution == null || worker.bestSolution.costSoFar() < bestSolution.costSoFar())) {
+                    bestSolution = worker.bestSolution;
+                }
+            }
+            if (stopped) {
+                log.warn("A* search stopped: node or time limit reached");
+            }
+            log.info("A* search explored {} nodes on {} threads, dropped {} duplicate states", totalNodes.get(), threads, duplicates);
+            reportBounds(bestSolution, lowerBound, monitor);
+            return bestSolution != null ? bestSolution : startScheduleState;
+        }
+
+        /**
+         * Workers see {@link #stopped} after their current expansion; their state may only be read once they have.
+         */
+        private void awaitWorkers(ExecutorService executor) {
+            executor.shutdown();
+            boolean terminated = false;
+            while (!terminated) {
+                try {
+                    terminated = executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    // the caller restores the interrupt once the workers are done
+                }
+            }
+        }
+
+        private int owner(long hash) {
+            return (int) Long.remainderUnsigned(mix(hash), threads);
+        }
+
+        private boolean pruned(ScheduleState scheduleState, int bound) {
+            return bound <= weight * scheduleState.totalCostEstimated();
+        }
+
+        private final class Worker implements Runnable {
+            private final SearchMonitor monitor;
+            private final Frontier open = new HeapFrontier(AStarStrategy.this::priority);
+            private final Queue<Hashed> inbox = new ConcurrentLinkedQueue<>();
+            private final Set<StateKey> seen = expansionOrder == ExpansionOrder.ALL_TASKS ? new HashSet<>() : null;
+            private ScheduleState bestSolution;
+            private int nodesExplored;
+            private long duplicates;
+            private int lowestPrunedEstimate = Integer.MAX_VALUE;
+
+            private Worker(SearchMonitor monitor) {
+                this.monitor = monitor;
+            }
+
+            @Override
+            public void run() {
+                try {
+                    while (!stopped) {
+                        drainInbox();
+                        ScheduleState current = open.poll();
+                        if (current == null) {
+                            if (outstanding.get() == 0) {
+                                return;
+                            }
+                            LockSupport.parkNanos(IDLE_PARK_NANOS);
+                            continue;
+                        }
+                        if (pruned(current, upperBound(bestSolution, monitor))) {
+                            lowestPrunedEstimate = Math.min(lowestPrunedEstimate, current.totalCostEstimated());
+                            outstanding.decrementAndGet();
+                            continue;
+                        }
+                        nodesExplored++;
+                        if (limitReached(nodesExplored, totalNodes.incrementAndGet(), startTime, monitor)) {
+                            stopped = true;
+                            open.add(current);
+                            return;
+                        }
+                        expand(current);
+                        outstanding.decrementAndGet();
+                    }
+                } catch (RuntimeException e) {
+                    stopped = true;
+                    throw e;
+                } finally {
+                    monitor.updateNodesExplored(nodesExplored);
+                }
+            }
+
+            private void drainInbox() {
+                for (Hashed message = inbox.poll(); message != null; message = inbox.poll()) {
+                    if (seen != null && !seen.add(new StateKey(message.hash(), message.scheduleState().placedTasks()))) {
+                        duplicates++;
+                        outstanding.decrementAndGet();
+                        continue;
+                    }
+                    open.add(message.scheduleState());
+                }
+            }
+
+            private void expand(ScheduleState current) {
+                long parentHash = stateHash(current);
+                SortedScheduleView view = scheduleView(current);
+                for (Map.Entry<Task, List<Placement>> expansion : expansions(current, view, dependencyIndex).entrySet()) {
+                    Task task = expansion.getKey();
+                    for (Placement placement : expansion.getValue()) {
+                        ScheduleState next = createStateWithPlacement(current, view, task, placement);
+                        int bound = upperBound(bestSolution, monitor);
+                        if (next.isComplete()) {
+                            if (next.costSoFar() < bound) {
+                                bestSolution = next;
+                                monitor.offerIncumbent(next);
+                            }
+                        } else if (pruned(next, bound)) {
+                            lowestPrunedEstimate = Math.min(lowestPrunedEstimate, next.totalCostEstimated());
+                        } else {
+                            long hash = parentHash + placementHash(task.getId(), placement.timeSlot().toPacked());
+                            outstanding.incrementAndGet();
+                            workers[owner(hash)].inbox.add(new Hashed(next, hash));
+                        }
+                    }
+                }
+            }
+
+            /**
+             * Lowest f among states this worker pruned or never got to expand; called after all workers stopped.
+             */
+            private int lowestUnexpandedEstimate() {
+                int lowest = lowestPrunedEstimate;
+                for (Hashed message = inbox.poll(); message != null; message = inbox.poll()) {
+                    lowest = Math.min(lowest, message.scheduleState().totalCostEstimated());
+                }
+                for (ScheduleState state = open.poll(); state != null; state = open.poll()) {
+                    lowest = Math.min(lowest, state.totalCostEstimated());
+                }
+                return lowest;
+            }
+        }
+    }
+
+    private record Hashed(ScheduleState scheduleState, long hash) {
+    }
+
+    private record StateKey(long hash, Map<UUID, Placement> placements) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StateKey other && hash == other.hash && placements.equals(other.placements);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hash);
+        }
+    }
+
+    public static class AStarBuilder {
+        private final SchedulerConfig schedulerConfig;
+        private final CostConfig costConfig;
+        private IPlanningStrategy warmStartStrategy;
+        private ExpansionOrder expansionOrder = ExpansionOrder.ALL_TASKS;
+        private Path spillDirectory;
+        private int hotFrontierCapacity;
+        private double weight = 1.0;
+        private int threads = 1;
+
+        public AStarBuilder(SchedulerConfig schedulerConfig, CostConfig costConfig) {
+            this.schedulerConfig = schedulerConfig;
+            this.costConfig = costConfig;
+        }
+
+        public AStarBuilder warmStart(IPlanningStrategy warmStartStrategy) { this.warmStartStrategy = warmStartStrategy; return this; }
+
+        public AStarBuilder expansionOrder(ExpansionOrder expansionOrder) {
+            if (expansionOrder == null) throw new IllegalArgumentException("expansionOrder cannot be null");
+            this.expansionOrder = expansionOrder;
+            return this;
+        }
+
+        /**
+         * Keeps at most {@code hotFrontierCapacity} open states on heap and spills the rest, bucketed by
+         * estimated cost, to memory-mapped files in {@code spillDirectory}. Meant for long offline searches.
+         */
+        public AStarBuilder spillToDisk(Path spillDirectory, int hotFrontierCapacity) {
+            if (spillDirectory == null) throw new IllegalArgumentException("spillDirectory cannot be null");
+            if (hotFrontierCapacity <= 0) throw new IllegalArgumentException("hotFrontierCapacity must be > 0");
+            this.spillDirectory = spillDirectory;
+            this.hotFrontierCapacity = hotFrontierCapacity;
+            return this;
+        }
+
+        /**
+         * Bounded-suboptimal (weighted A*) mode: the frontier is ordered by g + weight * h, and the search stops
+         * once the incumbent costs at most {@code weight} times the lowest f among open states, which bounds the
+         * optimum from below. The result is therefore within that factor of optimal; the lower bound actually
+         * proven is reported through {@link SearchMonitor#getLowerBound()}. A weight of 1 is plain A*.
+         */
+        public AStarBuilder weight(double weight) {
+            if (!(weight >= 1.0) || Double.isInfinite(weight)) throw new IllegalArgumentException("weight must be a finite value >= 1");
+            this.weight = weight;
+            return this;
+        }
+
+        /**
+         * Runs hash-distributed A* on {@code threads} workers, each with its own open and closed list; see
+         * {@link HashDistributedSearch}. Cannot be combined with {@link #spillToDisk}.
+         */
+        public AStarBuilder threads(int threads) {
+            if (threads <= 0) throw new IllegalArgumentException("threads must be > 0");
+            this.threads = threads;
+            return this;
+        }
+
+        public AStarStrategy build() {
+            return new AStarStrategy(this);
+        }
+    }
 }
\ No newline at end of file
@@ -2,97 +2,438 @@ package com.datify.scheduler.planner.strategy;
 
 import com.datify.scheduler.config.CostConfig;
 import com.datify.scheduler.config.SchedulerConfig;
+import com.datify.scheduler.cost.CostModel;
+import com.datify.scheduler.cost.ScheduleView;
+import com.datify.scheduler.cost.SortedScheduleView;
+import com.datify.scheduler.model.DependencyIndex;
+import com.datify.scheduler.model.PackedSlot;
 import com.datify.scheduler.model.Placement;
 import com.datify.scheduler.model.ScheduleState;
 import com.datify.scheduler.model.Task;
 import com.datify.scheduler.model.TimeSlot;
+import com.datify.scheduler.planner.SearchMonitor;
 
 import java.time.DayOfWeek;
-import java.time.LocalTime;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Shared slot generation and costing. Subclasses keep everything that changes during a run in locals or a
+ * per-run object; the only shared mutable state here is a concurrent cache of ideal-window occurrences.
+ */
 public abstract class AbstractPlanningStrategy implements IPlanningStrategy {
+    private static final int PROGRESS_INTERVAL_NODES = 1024;
+
     protected final SchedulerConfig schedulerConfig;
     protected final CostConfig costConfig;
+    protected final CostModel costModel;
+    protected final boolean datedHorizon;
+    private final long[] planningDays;
+    private final Map<List<TimeSlot>, List<TimeSlot>> idealOccurrencesByWindows = new ConcurrentHashMap<>();
+    private final Map<List<TimeSlot>, long[]> idealSlotsByWindows = new ConcurrentHashMap<>();
 
     protected AbstractPlanningStrategy(SchedulerConfig schedulerConfig, CostConfig costConfig) {
         this.schedulerConfig = schedulerConfig;
         this.costConfig = costConfig;
+        this.costModel = new CostModel(schedulerConfig, costConfig);
+        this.datedHorizon = schedulerConfig.horizon() != null;
+        this.planningDays = datedHorizon
+                ? schedulerConfig.horizon().dates().stream().mapToLong(LocalDate::toEpochDay).toArray()
+                : Arrays.stream(DayOfWeek.values()).mapToLong(day -> day.getValue() - 1).toArray();
     }
 
-    protected List<Placement> generatePlacements(Task task, ScheduleState scheduleState) {
-        List<Placement> placements = new ArrayList<>();
-
-        if (!scheduleState.dependenciesPlaced(task)) {
+    /**
+     * Free grid slots for {@code task} in time order. {@code earliestStart} comes from
+     * {@link DependencyIndex#earliestStart}, so {@link DependencyIndex#UNPLACED} yields nothing; {@code occupied}
+     * holds the placed slots sorted by start, as in {@link SortedScheduleView#slots()}.
+     */
+    protected List<Placement> generatePlacements(Task task, int earliestStart, long[] occupied) {
+        if (earliestStart == DependencyIndex.UNPLACED) {
             return Collections.emptyList();
         }
 
-        for (var day : DayOfWeek.values()) {
-            LocalTime slot = schedulerConfig.workStart();
-            while (true) {
-                LocalTime end = slot.plus(task.getDuration());
-                if (end.isAfter(schedulerConfig.workEnd())) break;
-
-                TimeSlot ts = new TimeSlot(slot, end, day);
+        int duration = (int) task.getDuration().toMinutes();
+        int workStart = PackedSlot.minuteOfDay(schedulerConfig.workStart());
+        int workEnd = PackedSlot.minuteOfDay(schedulerConfig.workEnd());
+        int step = schedulerConfig.timeSlotMinutes();
 
-                if (scheduleState.canPlaceTask(task, ts)) {
-                    placements.add(new Placement(task, ts));
+        List<Placement> placements = new ArrayList<>();
+        int next = 0;
+        for (long day : planningDays) {
+            int dayBase = Math.toIntExact(day * PackedSlot.MINUTES_PER_DAY);
+            for (int start = dayBase + workStart; start + duration <= dayBase + workEnd; start += step) {
+                int end = start + duration;
+                while (next < occupied.length && PackedSlot.end(occupied[next]) <= start) {
+                    next++;
                 }
-
-                slot = slot.plusMinutes(schedulerConfig.timeSlotMinutes());
+                if (start < earliestStart || (next < occupied.length && PackedSlot.start(occupied[next]) < end)) {
+                    continue;
+                }
+                placements.add(new Placement(task, PackedSlot.toTimeSlot(PackedSlot.pack(start, end), datedHorizon)));
             }
         }
 
         return placements;
     }
 
-    protected int calculatePlacementCost(Task task, TimeSlot timeSlot) {
-        int cost = costConfig.taskPlacementCost();
-        if (!task.getIdealTimeWindows().isEmpty()) {
-            boolean inWindow = task.getIdealTimeWindows().stream()
-                    .anyMatch(ideal -> ideal.envelops(timeSlot));
-            if (!inWindow) {
-                cost += costConfig.idealTimeslotMissPenalty();
+    /**
+     * Number of slots {@link #generatePlacements} would return, counted without building them.
+     */
+    protected int countPlacements(Task task, int earliestStart, long[] occupied) {
+        if (earliestStart == DependencyIndex.UNPLACED) {
+            return 0;
+        }
+
+        int duration = (int) task.getDuration().toMinutes();
+        int workStart = PackedSlot.minuteOfDay(schedulerConfig.workStart());
+        int workEnd = PackedSlot.minuteOfDay(schedulerConfig.workEnd());
+        int step = schedulerConfig.timeSlotMinutes();
+
+        int count = 0;
+        int next = 0;
+        for (long day : planningDays) {
+            int dayBase = Math.toIntExact(day * PackedSlot.MINUTES_PER_DAY);
+            for (int start = gridStartAtOrAfter(earliestStart, dayBase + workStart); start + duration <= dayBase + workEnd; start += step) {
+                while (next < occupied.length && PackedSlot.end(occupied[next]) <= start) {
+                    next++;
+                }
+                if (next >= occupied.length || PackedSlot.start(occupied[next]) >= start + duration) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The same slots as {@link #generatePlacements}, produced one at a time in ascending placement cost: slots
+     * inside an ideal window first, then the rest, each group in time order. Nothing is built beyond what the
+     * caller pulls, so a search that prunes after the first few candidates skips most of the work.
+     */
+    protected Iterator<Placement> placementsByCost(Task task, int earliestStart, long[] occupied) {
+        if (earliestStart == DependencyIndex.UNPLACED) {
+            return Collections.emptyIterator();
+        }
+        return new CostOrderedPlacements(task, earliestStart, occupied, idealSlots(task));
+    }
+
+    /**
+     * First start at or after {@code minute} on the grid anchored at {@code gridOrigin}.
+     */
+    private int gridStartAtOrAfter(int minute, int gridOrigin) {
+        if (minute <= gridOrigin) {
+            return gridOrigin;
+        }
+        int step = schedulerConfig.timeSlotMinutes();
+        return gridOrigin - Math.floorDiv(gridOrigin - minute, step) * step;
+    }
+
+    /**
+     * Placed tasks that explain why {@link #generatePlacements} rejects grid slots of {@code task}: for each
+     * rejected slot, one placement that forbids it on its own (the latest-ending dependency if the slot starts
+     * too early, otherwise the first overlapping placement). Expects all dependencies to be placed.
+     */
+    protected Set<UUID> placementBlockers(Task task, ScheduleState scheduleState) {
+        int earliestStart = Integer.MIN_VALUE;
+        UUID latestDependency = null;
+        for (UUID depId : task.getDependencyIds()) {
+            Placement dependency = scheduleState.placedTasks().get(depId);
+            if (dependency != null && dependency.timeSlot().endMinute() > earliestStart) {
+                earliestStart = dependency.timeSlot().endMinute();
+                latestDependency = depId;
             }
         }
-        return cost;
+
+        List<Placement> occupied = new ArrayList<>(scheduleState.placedTasks().values());
+        occupied.sort(Comparator.comparingLong(placement -> placement.timeSlot().toPacked()));
+        int duration = (int) task.getDuration().toMinutes();
+        int workStart = PackedSlot.minuteOfDay(schedulerConfig.workStart());
+        int workEnd = PackedSlot.minuteOfDay(schedulerConfig.workEnd());
+        int step = schedulerConfig.timeSlotMinutes();
+
+        Set<UUID> blockers = new HashSet<>();
+        int next = 0;
+        for (long day : planningDays) {
+            int dayBase = Math.toIntExact(day * PackedSlot.MINUTES_PER_DAY);
+            for (int start = dayBase + workStart; start + duration <= dayBase + workEnd; start += step) {
+                while (next < occupied.size() && occupied.get(next).timeSlot().endMinute() <= start) {
+                    next++;
+                }
+                if (start < earliestStart) {
+                    blockers.add(latestDependency);
+                } else if (next < occupied.size() && occupied.get(next).timeSlot().startMinute() < start + duration) {
+                    blockers.add(occupied.get(next).task().getId());
+                }
+            }
+        }
+        return blockers;
+    }
+
+    /**
+     * Cells of {@code timeSlotMinutes} covering the working hours of every planning day.
+     */
+    protected int gridCellCount() {
+        return planningDays.length * gridCellsPerDay();
+    }
+
+    /**
+     * Grid cell holding {@code minute}, which must lie within the working hours of a planning day.
+     */
+    protected int gridCell(int minute) {
+        int day = Math.floorDiv(minute, PackedSlot.MINUTES_PER_DAY);
+        int dayIndex = datedHorizon ? Math.toIntExact(day - planningDays[0]) : day;
+        int minuteOfWorkDay = minute - day * PackedSlot.MINUTES_PER_DAY - PackedSlot.minuteOfDay(schedulerConfig.workStart());
+        return dayIndex * gridCellsPerDay() + minuteOfWorkDay / schedulerConfig.timeSlotMinutes();
+    }
+
+    private int gridCellsPerDay() {
+        int workMinutes = PackedSlot.minuteOfDay(schedulerConfig.workEnd()) - PackedSlot.minuteOfDay(schedulerConfig.workStart());
+        return (workMinutes + schedulerConfig.timeSlotMinutes() - 1) / schedulerConfig.timeSlotMinutes();
     }
 
-    protected ScheduleState createStateWithPlacement(ScheduleState current, Task task, Placement placement) {
+    /**
+     * Placed slots sorted by start. Placements never overlap, so this is also sorted by end.
+     */
+    protected long[] occupiedSlots(ScheduleState scheduleState) {
+        long[] occupied = new long[scheduleState.placedTasks().size()];
+        int i = 0;
+        for (Placement placement : scheduleState.placedTasks().values()) {
+            occupied[i++] = placement.timeSlot().toPacked();
+        }
+        Arrays.sort(occupied);
+        return occupied;
+    }
+
+    protected SortedScheduleView scheduleView(ScheduleState scheduleState) {
+        return new SortedScheduleView(scheduleState.placedTasks(), occupiedSlots(scheduleState));
+    }
+
+    /**
+     * Exact cost of placing {@code task}, unplaced in {@code schedule}, at {@code timeSlot}.
+     */
+    protected int calculatePlacementCost(Task task, TimeSlot timeSlot, ScheduleView schedule) {
+        return costModel.placementDelta(task, timeSlot, schedule);
+    }
+
+    /**
+     * Child of {@code current}; {@code currentView} must be its {@link #scheduleView}, built once per expansion.
+     */
+    protected ScheduleState createStateWithPlacement(ScheduleState current, SortedScheduleView currentView, Task task,
+                                                     Placement placement) {
+        int newCost = current.costSoFar() + calculatePlacementCost(task, placement.timeSlot(), currentView);
+
         Map<UUID, Placement> newPlaced = new HashMap<>(current.placedTasks());
         newPlaced.put(task.getId(), placement);
 
         Map<UUID, Task> newUnplaced = new HashMap<>(current.unplacedTasks());
         newUnplaced.remove(task.getId());
 
-        int newCost = current.costSoFar() + calculatePlacementCost(task, placement.timeSlot());
-        int totalCostEstimated = newCost + estimateRemainingCost(current, newUnplaced);
+        SortedScheduleView nextView = currentView.with(newPlaced, placement.timeSlot().toPacked());
+        return new ScheduleState(newPlaced, newUnplaced, newCost, newCost + estimateRemainingCost(newUnplaced.values(), nextView));
+    }
 
-        return new ScheduleState(newPlaced, newUnplaced, newCost, totalCostEstimated);
+    /**
+     * Admissible estimate of the cost {@code unplacedTasks} still add to {@code schedule}.
+     */
+    protected int estimateRemainingCost(Collection<Task> unplacedTasks, ScheduleView schedule) {
+        return costModel.remainingLowerBound(unplacedTasks, schedule);
     }
 
-    protected int estimateRemainingCost(ScheduleState currentScheduleState, Map<UUID, Task> unplacedTasks) {
-        int baseCost = unplacedTasks.size() * costConfig.taskPlacementCost();
-        int potentialPenalty = 0;
+    /**
+     * Ideal windows are weekly templates; on a dated horizon they recur on every matching date.
+     */
+    protected List<TimeSlot> idealOccurrences(Task task) {
+        if (!datedHorizon || task.getIdealTimeWindows().isEmpty()) {
+            return task.getIdealTimeWindows();
+        }
+        return idealOccurrencesByWindows.computeIfAbsent(task.getIdealTimeWindows(), schedulerConfig.horizon()::occurrences);
+    }
 
-        for (Task task : unplacedTasks.values()) {
-            if (!task.getIdealTimeWindows().isEmpty()) {
-                boolean hasAvailableIdeal = task.getIdealTimeWindows().stream()
-                        .anyMatch(ideal -> currentScheduleState.canPlaceTask(task, ideal));
-                if (!hasAvailableIdeal) {
-                    potentialPenalty += costConfig.idealTimeslotMissPenalty();
+    /**
+     * Ideal occurrences of {@code task} as packed slots sorted by start.
+     */
+    private long[] idealSlots(Task task) {
+        if (task.getIdealTimeWindows().isEmpty()) {
+            return new long[0];
+        }
+        return idealSlotsByWindows.computeIfAbsent(task.getIdealTimeWindows(), windows -> {
+            long[] slots = idealOccurrences(task).stream().mapToLong(TimeSlot::toPacked).toArray();
+            Arrays.sort(slots);
+            return slots;
+        });
+    }
+
+    /**
+     * Lazy walk behind {@link #placementsByCost}. The ideal pass visits grid starts inside each ideal
+     * occurrence; occurrences are sorted by start and starts only move forward, so overlapping windows yield
+     * nothing twice. The second pass walks the whole grid and skips every start some occurrence envelops.
+     */
+    private final class CostOrderedPlacements implements Iterator<Placement> {
+        private final Task task;
+        private final int duration;
+        private final int earliestStart;
+        private final long[] occupied;
+        private final long[] idealSlots;
+        private final int[] idealEndPrefixMax;
+        private final int workStart = PackedSlot.minuteOfDay(schedulerConfig.workStart());
+        private final int workEnd = PackedSlot.minuteOfDay(schedulerConfig.workEnd());
+        private boolean idealPass = true;
+        private int occurrence;
+        private int dayIndex = -1;
+        private int start = Integer.MIN_VALUE;
+        private int nextOccupied;
+        private int nextIdeal;
+        private Placement next;
+
+        private CostOrderedPlacements(Task task, int earliestStart, long[] occupied, long[] idealSlots) {
+            this.task = task;
+            this.duration = (int) task.getDuration().toMinutes();
+            this.earliestStart = earliestStart;
+            this.occupied = occupied;
+            this.idealSlots = idealSlots;
+            this.idealEndPrefixMax = new int[idealSlots.length];
+            for (int i = 0; i < idealSlots.length; i++) {
+                idealEndPrefixMax[i] = Math.max(i > 0 ? idealEndPrefixMax[i - 1] : Integer.MIN_VALUE, PackedSlot.end(idealSlots[i]));
+            }
+            this.next = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Placement next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Placement current = next;
+            next = advance();
+            return current;
+        }
+
+        private Placement advance() {
+            while (idealPass && occurrence < idealSlots.length) {
+                long ideal = idealSlots[occurrence];
+                int dayBase = Math.floorDiv(PackedSlot.start(ideal), PackedSlot.MINUTES_PER_DAY) * PackedSlot.MINUTES_PER_DAY;
+                int candidate = gridStartAtOrAfter(Math.max(start, Math.max(earliestStart, PackedSlot.start(ideal))), dayBase + workStart);
+                if (candidate + duration > Math.min(PackedSlot.end(ideal), dayBase + workEnd)) {
+                    occurrence++;
+                    continue;
                 }
+                start = candidate + schedulerConfig.timeSlotMinutes();
+                if (isFree(candidate)) {
+                    return placementAt(candidate);
+                }
+            }
+            if (idealPass) {
+                idealPass = false;
+                nextOccupied = 0;
             }
+
+            while (true) {
+                if (dayIndex < 0 || start + duration > dayBase(dayIndex) + workEnd) {
+                    if (++dayIndex >= planningDays.length) {
+                        return null;
+                    }
+                    start = gridStartAtOrAfter(earliestStart, dayBase(dayIndex) + workStart);
+                    continue;
+                }
+                int candidate = start;
+                start += schedulerConfig.timeSlotMinutes();
+                if (!isIdeal(candidate) && isFree(candidate)) {
+                    return placementAt(candidate);
+                }
+            }
+        }
+
+        private int dayBase(int index) {
+            return Math.toIntExact(planningDays[index] * PackedSlot.MINUTES_PER_DAY);
         }
 
-        return baseCost + potentialPenalty;
+        /**
+         * Candidates arrive in increasing start order within a pass, so the occupied pointer only moves forward.
+         */
+        private boolean isFree(int candidate) {
+            while (nextOccupied < occupied.length && PackedSlot.end(occupied[nextOccupied]) <= candidate) {
+                nextOccupied++;
+            }
+            return nextOccupied >= occupied.length || PackedSlot.start(occupied[nextOccupied]) >= candidate + duration;
+        }
+
+        private boolean isIdeal(int candidate) {
+            while (nextIdeal < idealSlots.length && PackedSlot.start(idealSlots[nextIdeal]) <= candidate) {
+                nextIdeal++;
+            }
+            return nextIdeal > 0 && idealEndPrefixMax[nextIdeal - 1] >= candidate + duration;
+        }
+
+        private Placement placementAt(int candidate) {
+            return new Placement(task, PackedSlot.toTimeSlot(PackedSlot.pack(candidate, candidate + duration), datedHorizon));
+        }
+    }
+
+    protected DependencyIndex buildDependencyIndex(ScheduleState scheduleState) {
+        List<Task> tasks = new ArrayList<>(scheduleState.unplacedTasks().values());
+        for (Placement placement : scheduleState.placedTasks().values()) {
+            tasks.add(placement.task());
+        }
+        return DependencyIndex.of(tasks);
+    }
+
+    /**
+     * Dependency order over {@code tasks}; dependencies outside the map count as satisfied. Ready tasks are
+     * taken longest first, then by name. Tasks on a dependency cycle are left out.
+     */
+    protected List<Task> topologicalOrder(Map<UUID, Task> tasks) {
+        List<Task> byPriority = new ArrayList<>(tasks.values());
+        byPriority.sort(Comparator.comparing(Task::getDuration).reversed().thenComparing(Task::getName));
+        DependencyIndex index = DependencyIndex.of(byPriority);
+
+        List<Task> order = new ArrayList<>(index.topologicalOrder().length);
+        for (int task : index.topologicalOrder()) {
+            order.add(index.task(task));
+        }
+        return order;
     }
 
     @Override
-    public abstract ScheduleState findSchedule(ScheduleState startScheduleState);
+    public String configurationKey() {
+        return getClass().getName() + schedulerConfig + costConfig;
+    }
+
+    protected ScheduleState findWarmStartIncumbent(IPlanningStrategy warmStartStrategy, ScheduleState startScheduleState,
+                                                   SearchMonitor monitor) {
+        if (warmStartStrategy == null) {
+            return null;
+        }
+        ScheduleState incumbent = warmStartStrategy.findSchedule(startScheduleState, new SearchMonitor(monitor));
+        return incumbent != null && incumbent.isComplete() ? incumbent : null;
+    }
 
-    protected boolean limitReached(int nodesExplored, long startTime) {
-        return nodesExplored > schedulerConfig.maxNodes() ||
-                System.currentTimeMillis() - startTime > schedulerConfig.maxTimeMs();
+    @Override
+    public abstract ScheduleState findSchedule(ScheduleState startScheduleState, SearchMonitor monitor);
+
+    protected boolean limitReached(int nodesExplored, long startTime, SearchMonitor monitor) {
+        return limitReached(nodesExplored, nodesExplored, startTime, monitor);
+    }
+
+    /**
+     * For searches spread over several threads: {@code nodesExplored} is this thread's count, published to its
+     * own monitor, while the node limit applies to {@code totalNodes} across all of them.
+     */
+    protected boolean limitReached(int nodesExplored, long totalNodes, long startTime, SearchMonitor monitor) {
+        if (nodesExplored % PROGRESS_INTERVAL_NODES == 0) {
+            monitor.updateNodesExplored(nodesExplored);
+        }
+        boolean reached = totalNodes > schedulerConfig.maxNodes() ||
+                System.currentTimeMillis() - startTime > schedulerConfig.maxTimeMs() ||
+                monitor.isCancelled();
+        if (reached) {
+            monitor.markLimitReached();
+        }
+        return reached;
     }
 }
\ No newline at end of file
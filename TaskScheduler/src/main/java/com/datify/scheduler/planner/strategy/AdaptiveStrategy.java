@@ -0,0 +1,41 @@
+package com.datify.scheduler.planner.strategy;
+
+import com.datify.scheduler.model.ScheduleState;
+import com.datify.scheduler.planner.SearchMonitor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands problems with at most {@code taskThreshold} unplaced tasks to {@code smallProblemStrategy}
+ * (typically {@link DynamicProgrammingStrategy}) and everything else to {@code largeProblemStrategy}.
+ */
+@Slf4j
+public class AdaptiveStrategy implements IPlanningStrategy {
+    private final IPlanningStrategy smallProblemStrategy;
+    private final IPlanningStrategy largeProblemStrategy;
+    private final int taskThreshold;
+
+    public AdaptiveStrategy(IPlanningStrategy smallProblemStrategy, IPlanningStrategy largeProblemStrategy, int taskThreshold) {
+        if (smallProblemStrategy == null || largeProblemStrategy == null) throw new IllegalArgumentException("Strategies cannot be null");
+        if (taskThreshold < 0) throw new IllegalArgumentException("taskThreshold must be >= 0");
+        this.smallProblemStrategy = smallProblemStrategy;
+        this.largeProblemStrategy = largeProblemStrategy;
+        this.taskThreshold = taskThreshold;
+    }
+
+    @Override
+    public ScheduleState findSchedule(ScheduleState startScheduleState, SearchMonitor monitor) {
+        if (startScheduleState == null) {
+            throw new IllegalArgumentException("Start state cannot be null");
+        }
+        boolean small = startScheduleState.unplacedTasks().size() <= taskThreshold;
+        IPlanningStrategy selected = small ? smallProblemStrategy : largeProblemStrategy;
+        log.debug("{} unplaced tasks, using {}", startScheduleState.unplacedTasks().size(), selected.getClass().getSimpleName());
+        return selected.findSchedule(startScheduleState, monitor);
+    }
+
+    @Override
+    public String configurationKey() {
+        return getClass().getName() + "threshold=" + taskThreshold + "[" + smallProblemStrategy.configurationKey()
+                + "," + largeProblemStrategy.configurationKey() + "]";
+    }
+}
@@ -2,102 +2,427 @@ package com.datify.scheduler.planner.strategy;
 
 import com.datify.scheduler.config.CostConfig;
 import com.datify.scheduler.config.SchedulerConfig;
+import com.datify.scheduler.cost.SortedScheduleView;
+import com.datify.scheduler.model.DependencyIndex;
+import com.datify.scheduler.model.PackedSlot;
 import com.datify.scheduler.model.Placement;
 import com.datify.scheduler.model.ScheduleState;
 import com.datify.scheduler.model.Task;
+import com.datify.scheduler.planner.SearchMonitor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
 
+/**
+ * Depth-first branch and bound with conflict-directed backjumping. Every subtree that fails purely for lack
+ * of space reports the decision levels whose placements caused it; when the current level is not among them,
+ * the remaining placements at this level are skipped because they cannot help. Those conflicts are also kept
+ * as nogoods (small sets of placements that admit no completion) in a bounded store that is checked before
+ * descending. Subtrees cut by the cost bound, by a solution or by a limit never trigger a jump.
+ * <p>
+ * In restart mode ({@link BacktrackingBuilder#restarts(long)}) ties in task and placement order are broken
+ * by a seeded random generator and the search restarts whenever it exhausts a node budget that grows with
+ * the Luby sequence. The incumbent and learned nogoods carry over between restarts. Given the same seed and
+ * a run that is not cut short by the time limit, the search is fully reproducible.
+ */
 @Slf4j
 public class BacktrackingStrategy extends AbstractPlanningStrategy {
+    private static final int NOGOOD_CAPACITY = 4096;
+    private static final int MAX_NOGOOD_SIZE = 8;
+    private static final int DEFAULT_RESTART_UNIT_NODES = 512;
 
-    private ScheduleState bestSolution;
-    private int bestCost;
-    private int nodesExplored;
-    private long startTime;
+    private final IPlanningStrategy warmStartStrategy;
+    private final Long restartSeed;
+    private final int restartUnitNodes;
 
     public BacktrackingStrategy(SchedulerConfig schedulerConfig, CostConfig costConfig) {
-        super(schedulerConfig, costConfig);
+        this(new BacktrackingBuilder(schedulerConfig, costConfig));
+    }
+
+    public BacktrackingStrategy(SchedulerConfig schedulerConfig, CostConfig costConfig, IPlanningStrategy warmStartStrategy) {
+        this(new BacktrackingBuilder(schedulerConfig, costConfig).warmStart(warmStartStrategy));
+    }
+
+    public BacktrackingStrategy(BacktrackingBuilder builder) {
+        super(builder.schedulerConfig, builder.costConfig);
+        this.warmStartStrategy = builder.warmStartStrategy;
+        this.restartSeed = builder.restartSeed;
+        this.restartUnitNodes = builder.restartUnitNodes;
+    }
+
+    @Override
+    public String configurationKey() {
+        String key = super.configurationKey();
+        if (restartSeed != null) {
+            key += "+restarts:seed=" + restartSeed + ",unit=" + restartUnitNodes;
+        }
+        return warmStartStrategy == null ? key : key + "+warmStart:" + warmStartStrategy.configurationKey();
     }
 
     @Override
-    public ScheduleState findSchedule(ScheduleState startScheduleState) {
+    public ScheduleState findSchedule(ScheduleState startScheduleState, SearchMonitor monitor) {
         if (startScheduleState == null) {
             throw new IllegalArgumentException("Start state cannot be null");
         }
 
-        bestSolution = null;
-        bestCost = Integer.MAX_VALUE;
-        nodesExplored = 0;
-        startTime = System.currentTimeMillis();
+        Search search = new Search(startScheduleState, monitor);
+        ScheduleState incumbent = findWarmStartIncumbent(warmStartStrategy, startScheduleState, monitor);
+        if (incumbent != null) {
+            search.bestSolution = incumbent;
+            search.bestCost = incumbent.costSoFar();
+        }
 
         log.info("Starting backtracking search with {} unplaced tasks", startScheduleState.unplacedTasks().size());
-        backtrackSearch(startScheduleState);
+        boolean exhausted = restartSeed == null ? search.runSearch(startScheduleState, Long.MAX_VALUE) : search.runWithRestarts(startScheduleState);
 
-        long elapsed = System.currentTimeMillis() - startTime;
-        if (bestSolution != null) {
-            log.info("Found best solution with cost {} after {} nodes in {}ms", bestCost, nodesExplored, elapsed);
-            return bestSolution;
+        monitor.updateNodesExplored(search.nodesExplored);
+        if (exhausted) {
+            monitor.markProvenOptimal();
+        }
+        long elapsed = System.currentTimeMillis() - search.startTime;
+        log.debug("Backtracking made {} backjumps and kept {} nogoods", search.backjumps, search.nogoodsByAge.size());
+        if (search.bestSolution != null) {
+            log.info("Found best solution with cost {} after {} nodes in {}ms", search.bestCost, search.nodesExplored, elapsed);
+            return search.bestSolution;
         } else {
-            log.warn("No valid solution found after {} nodes in {}ms", nodesExplored, elapsed);
+            log.warn("No valid solution found after {} nodes in {}ms", search.nodesExplored, elapsed);
             return startScheduleState;
         }
     }
 
-    private boolean backtrackSearch(ScheduleState currentScheduleState) {
-        nodesExplored++;
+    /**
+     * Luby sequence 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, ... for {@code i >= 1}.
+     */
+    static long luby(long i) {
+        while (true) {
+            int k = 1;
+            while ((1L << k) - 1 < i) {
+                k++;
+            }
+            if (i == (1L << k) - 1) {
+                return 1L << (k - 1);
+            }
+            i -= (1L << (k - 1)) - 1;
+        }
+    }
+
+    /**
+     * Mutable state of one run, so a configured strategy can serve concurrent runs.
+     */
+    private final class Search {
+        private final SearchMonitor monitor;
+        private final long startTime;
+        private final DependencyIndex dependencyIndex;
+        private final int[] levelOfTask;
+        private final long[] slotOfTask;
+        private final int[] endMinutes;
+        private final int[] taskAtLevel;
+        private final Map<Assignment, List<Nogood>> nogoodsByAssignment = new HashMap<>();
+        private final Deque<Nogood> nogoodsByAge = new ArrayDeque<>();
+        private final Random random;
+
+        private ScheduleState bestSolution;
+        private int bestCost = Integer.MAX_VALUE;
+        private int nodesExplored;
+        private boolean limitHit;
+        private int backjumps;
+        private long restartNodeLimit;
+        private boolean restartCut;
 
-        if (limitReached(nodesExplored, startTime)) {
-            return bestSolution != null;
+        private Search(ScheduleState startScheduleState, SearchMonitor monitor) {
+            this.monitor = monitor;
+            startTime = System.currentTimeMillis();
+            dependencyIndex = buildDependencyIndex(startScheduleState);
+            levelOfTask = new int[dependencyIndex.size()];
+            Arrays.fill(levelOfTask, -1);
+            slotOfTask = new long[dependencyIndex.size()];
+            endMinutes = dependencyIndex.endMinutes(startScheduleState.placedTasks());
+            taskAtLevel = new int[dependencyIndex.size()];
+            random = restartSeed != null ? new Random(restartSeed) : null;
         }
 
-        if (currentScheduleState.isComplete()) {
-            int cost = currentScheduleState.costSoFar();
-            if (cost < bestCost) {
-                bestSolution = currentScheduleState;
-                bestCost = cost;
-                log.info("New best solution found: {}", bestCost);
-                return true;
+        /**
+         * Runs with node budgets following the Luby sequence until one covers the whole search space or a
+         * limit is hit.
+         */
+        private boolean runWithRestarts(ScheduleState startScheduleState) {
+            for (int restart = 1; ; restart++) {
+                long budget = luby(restart) * restartUnitNodes;
+                if (runSearch(startScheduleState, nodesExplored + budget)) {
+                    log.debug("Backtracking run {} finished its search within {} nodes", restart, budget);
+                    return true;
+                }
+                if (limitHit) {
+                    return false;
+                }
+                log.debug("Restarting after run {} ({} nodes, best cost {})", restart, budget, bestCost);
             }
-            return false;
         }
 
-        if (currentScheduleState.totalCostEstimated() >= bestCost) {
-            return false;
+        /**
+         * One depth-first pass from the start state, cut off after {@code nodeLimit} total nodes. Returns whether
+         * the pass covered the whole search space.
+         */
+        private boolean runSearch(ScheduleState startScheduleState, long nodeLimit) {
+            restartNodeLimit = nodeLimit;
+            restartCut = false;
+            backtrackSearch(startScheduleState, 0);
+            return !limitHit && !restartCut;
         }
 
-        Task taskToPlace = selectNextTask(currentScheduleState);
-        if (taskToPlace == null) {
-            return false;
+
+        /**
+         * Returns the conflict levels if the subtree has no complete schedule purely because of the placements at
+         * those levels, or {@code null} if it was left for any other reason.
+         */
+        private BitSet backtrackSearch(ScheduleState currentScheduleState, int level) {
+            nodesExplored++;
+
+            if (limitReached(nodesExplored, startTime, monitor)) {
+                limitHit = true;
+                return null;
+            }
+            if (nodesExplored >= restartNodeLimit) {
+                restartCut = true;
+                return null;
+            }
+
+            if (currentScheduleState.isComplete()) {
+                int cost = currentScheduleState.costSoFar();
+                if (cost < bestCost) {
+                    bestSolution = currentScheduleState;
+                    bestCost = cost;
+                    monitor.offerIncumbent(currentScheduleState);
+                    log.debug("New best solution found: {}", bestCost);
+                }
+                return null;
+            }
+
+            if (currentScheduleState.totalCostEstimated() >= Math.min(bestCost, monitor.getBestCost())) {
+                return null;
+            }
+
+            SortedScheduleView view = scheduleView(currentScheduleState);
+            Choice choice = selectNextTask(view);
+            if (choice == null) {
+                return null;
+            }
+            int taskIndex = choice.task();
+            Task taskToPlace = dependencyIndex.task(taskIndex);
+            if (choice.placementCount() == 0) {
+                BitSet conflict = blockerLevels(taskToPlace, currentScheduleState);
+                learnNogood(conflict);
+                return conflict;
+            }
+
+            int remainingFloor = costModel.remainingLowerBound(currentScheduleState.unplacedTasks().values(), view)
+                    - costModel.lowerBound(taskToPlace, view);
+            BitSet conflict = new BitSet();
+            boolean explained = true;
+            Iterator<Placement> placements = placementsInOrder(taskToPlace, choice.earliestStart(), view);
+            while (placements.hasNext()) {
+                Placement placement = placements.next();
+                int bound = Math.min(bestCost, monitor.getBestCost());
+                int floorOfRest = currentScheduleState.costSoFar() + remainingFloor;
+                if (floorOfRest + calculatePlacementCost(taskToPlace, placement.timeSlot(), view) >= bound) {
+                    explained = false;
+                    if (random != null || floorOfRest + costModel.placementFloor(taskToPlace, placement.timeSlot(), view) >= bound) {
+                        break;
+                    }
+                    continue;
+                }
+                long slot = placement.timeSlot().toPacked();
+                BitSet nogood = violatedNogood(taskIndex, slot);
+                if (nogood != null) {
+                    conflict.or(nogood);
+                    continue;
+                }
+
+                levelOfTask[taskIndex] = level;
+                slotOfTask[taskIndex] = slot;
+                endMinutes[taskIndex] = PackedSlot.end(slot);
+                taskAtLevel[level] = taskIndex;
+                BitSet childConflict = backtrackSearch(createStateWithPlacement(currentScheduleState, view, taskToPlace, placement), level + 1);
+                levelOfTask[taskIndex] = -1;
+                endMinutes[taskIndex] = DependencyIndex.UNPLACED;
+
+                if (limitHit || restartCut) {
+                    return null;
+                }
+                if (childConflict == null) {
+                    explained = false;
+                } else if (!childConflict.get(level)) {
+                    backjumps++;
+                    return childConflict;
+                } else {
+                    conflict.or(childConflict);
+                }
+            }
+
+            if (!explained) {
+                return null;
+            }
+            conflict.clear(level);
+            conflict.or(blockerLevels(taskToPlace, currentScheduleState));
+            learnNogood(conflict);
+            return conflict;
         }
 
-        List<Placement> placements = generatePlacements(taskToPlace, currentScheduleState);
-        placements.sort(Comparator.comparingInt(p -> calculatePlacementCost(taskToPlace, p.timeSlot())));
+        /**
+         * Most constrained placeable task, ties broken by the longest chain of work behind it (then at random in
+         * restart mode). Slots are only counted here. A task whose dependencies are all placed but which has no
+         * slot left is returned at once with a count of zero: the node is a dead end.
+         */
+        private Choice selectNextTask(SortedScheduleView view) {
+            Choice mostConstrained = null;
+            int longestTail = -1;
+            int ties = 0;
 
-        boolean foundAnySolution = false;
-        for (Placement placement : placements) {
-            ScheduleState newScheduleState = createStateWithPlacement(currentScheduleState, taskToPlace, placement);
-            if (backtrackSearch(newScheduleState)) {
-                foundAnySolution = true;
+            for (int task = 0; task < dependencyIndex.size(); task++) {
+                if (endMinutes[task] != DependencyIndex.UNPLACED) {
+                    continue;
+                }
+                int earliestStart = dependencyIndex.earliestStart(task, endMinutes);
+                if (earliestStart == DependencyIndex.UNPLACED) {
+                    continue;
+                }
+                int placementCount = countPlacements(dependencyIndex.task(task), earliestStart, view.slots());
+                if (placementCount == 0) {
+                    return new Choice(task, earliestStart, 0);
+                }
+                if (mostConstrained != null && placementCount > mostConstrained.placementCount()) {
+                    continue;
+                }
+                int tail = dependencyIndex.tailMinutes(task);
+                if (mostConstrained == null || placementCount < mostConstrained.placementCount() || tail > longestTail) {
+                    longestTail = tail;
+                    mostConstrained = new Choice(task, earliestStart, placementCount);
+                    ties = 1;
+                } else if (random != null && tail == longestTail && random.nextInt(++ties) == 0) {
+                    mostConstrained = new Choice(task, earliestStart, placementCount);
+                }
             }
+            return mostConstrained;
         }
 
-        return foundAnySolution;
-    }
+        /**
+         * Cheapest first. Restart mode shuffles equal costs, which needs the whole list; otherwise the slots are
+         * produced lazily in base and ideal-window cost and the search stops pulling once the cost floor of the
+         * rest cannot beat the incumbent.
+         */
+        private Iterator<Placement> placementsInOrder(Task task, int earliestStart, SortedScheduleView view) {
+            if (random == null) {
+                return placementsByCost(task, earliestStart, view.slots());
+            }
+            List<Placement> placements = generatePlacements(task, earliestStart, view.slots());
+            Collections.shuffle(placements, random);
+            placements.sort(Comparator.comparingInt(p -> calculatePlacementCost(task, p.timeSlot(), view)));
+            return placements.iterator();
+        }
 
-    private Task selectNextTask(ScheduleState scheduleState) {
-        Task mostConstrained = null;
-        int minSlots = Integer.MAX_VALUE;
+        private BitSet blockerLevels(Task task, ScheduleState scheduleState) {
+            BitSet levels = new BitSet();
+            for (UUID blocker : placementBlockers(task, scheduleState)) {
+                int level = levelOfTask[dependencyIndex.indexOf(blocker)];
+                if (level >= 0) {
+                    levels.set(level);
+                }
+            }
+            return levels;
+        }
 
-        for (Task task : scheduleState.unplacedTasks().values()) {
-            int slots = generatePlacements(task, scheduleState).size();
-            if (slots < minSlots && slots > 0) {
-                minSlots = slots;
-                mostConstrained = task;
+        /**
+         * Levels of a stored nogood made up entirely of current placements plus {@code task} at {@code slot},
+         * or {@code null} if there is none.
+         */
+        private BitSet violatedNogood(int task, long slot) {
+            List<Nogood> candidates = nogoodsByAssignment.get(new Assignment(task, slot));
+            if (candidates == null) {
+                return null;
+            }
+            for (Nogood nogood : candidates) {
+                BitSet levels = new BitSet();
+                boolean violated = true;
+                for (Assignment assignment : nogood.assignments()) {
+                    if (assignment.task() == task) {
+                        continue;
+                    }
+                    if (levelOfTask[assignment.task()] < 0 || slotOfTask[assignment.task()] != assignment.slot()) {
+                        violated = false;
+                        break;
+                    }
+                    levels.set(levelOfTask[assignment.task()]);
+                }
+                if (violated) {
+                    return levels;
+                }
+            }
+            return null;
+        }
+
+        private void learnNogood(BitSet conflict) {
+            int size = conflict.cardinality();
+            if (size == 0 || size > MAX_NOGOOD_SIZE) {
+                return;
+            }
+            Assignment[] assignments = new Assignment[size];
+            int i = 0;
+            for (int level = conflict.nextSetBit(0); level >= 0; level = conflict.nextSetBit(level + 1)) {
+                int task = taskAtLevel[level];
+                assignments[i++] = new Assignment(task, slotOfTask[task]);
+            }
+
+            Nogood nogood = new Nogood(assignments);
+            for (Assignment assignment : assignments) {
+                nogoodsByAssignment.computeIfAbsent(assignment, key -> new ArrayList<>()).add(nogood);
+            }
+            nogoodsByAge.addLast(nogood);
+            if (nogoodsByAge.size() > NOGOOD_CAPACITY) {
+                Nogood oldest = nogoodsByAge.removeFirst();
+                for (Assignment assignment : oldest.assignments()) {
+                    List<Nogood> indexed = nogoodsByAssignment.get(assignment);
+                    indexed.remove(oldest);
+                    if (indexed.isEmpty()) {
+                        nogoodsByAssignment.remove(assignment);
+                    }
+                }
             }
         }
+    }
+
+    public static class BacktrackingBuilder {
+        private final SchedulerConfig schedulerConfig;
+        private final CostConfig costConfig;
+        private IPlanningStrategy warmStartStrategy;
+        private Long restartSeed;
+        private int restartUnitNodes = DEFAULT_RESTART_UNIT_NODES;
+
+        public BacktrackingBuilder(SchedulerConfig schedulerConfig, CostConfig costConfig) {
+            this.schedulerConfig = schedulerConfig;
+            this.costConfig = costConfig;
+        }
+
+        public BacktrackingBuilder warmStart(IPlanningStrategy warmStartStrategy) { this.warmStartStrategy = warmStartStrategy; return this; }
+
+        public BacktrackingBuilder restarts(long seed) { this.restartSeed = seed; return this; }
+
+        public BacktrackingBuilder restartUnitNodes(int restartUnitNodes) {
+            if (restartUnitNodes <= 0) throw new IllegalArgumentException("restartUnitNodes must be > 0");
+            this.restartUnitNodes = restartUnitNodes;
+            return this;
+        }
+
+        public BacktrackingStrategy build() {
+            return new BacktrackingStrategy(this);
+        }
+    }
+
+    private record Choice(int task, int earliestStart, int placementCount) {
+    }
+
+    private record Assignment(int task, long slot) {
+    }
 
-        return mostConstrained;
+    private record Nogood(Assignment[] assignments) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,320 @@
+package com.datify.scheduler.planner.strategy;
+
+import com.datify.scheduler.config.CostConfig;
+import com.datify.scheduler.config.SchedulerConfig;
+import com.datify.scheduler.cost.CostModel;
+import com.datify.scheduler.cost.SortedScheduleView;
+import com.datify.scheduler.model.DependencyIndex;
+import com.datify.scheduler.model.Placement;
+import com.datify.scheduler.model.ScheduleState;
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.planner.SearchMonitor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+
+/**
+ * Exact dynamic programme over subsets of placed tasks. A state is the set of placed tasks, the grid cells
+ * they occupy and the end minutes of placed tasks that still have unplaced dependents: partial schedules
+ * that agree on these have the same cheapest completion, so it is computed once and memoised. Placements
+ * always start on the grid, which makes the cell occupancy an exact stand-in for the slots themselves.
+ * Each state branches on its most constrained ready task only. Tasks placed before the run are fixed and
+ * not part of the state.
+ * <p>
+ * States are solved against a budget (the warm-start cost, tightened by every better completion), so a
+ * memo entry is either the exact cheapest completion or a lower bound that lets later visits with a
+ * smaller budget skip the state.
+ * <p>
+ * The memo is only sound if a placement's cost depends on nothing but the task and its slot, so the cost
+ * model must be {@link CostModel#isLocal() local}; check with {@link #supports} before building one.
+ * <p>
+ * Meant for small inputs (see {@link AdaptiveStrategy}); it accepts at most {@link #MAX_TASKS} unplaced
+ * tasks and gives up after {@link #MAX_MEMO_STATES} states or the usual node and time limits, returning
+ * the warm-start result instead.
+ */
+@Slf4j
+public class DynamicProgrammingStrategy extends AbstractPlanningStrategy {
+    public static final int MAX_TASKS = 63;
+    private static final int MAX_MEMO_STATES = 2_000_000;
+    private static final int INFEASIBLE = Integer.MAX_VALUE;
+
+    private final IPlanningStrategy warmStartStrategy;
+
+    public DynamicProgrammingStrategy(SchedulerConfig schedulerConfig, CostConfig costConfig) {
+        this(schedulerConfig, costConfig, null);
+    }
+
+    public DynamicProgrammingStrategy(SchedulerConfig schedulerConfig, CostConfig costConfig, IPlanningStrategy warmStartStrategy) {
+        super(schedulerConfig, costConfig);
+        if (!costModel.isLocal()) {
+            throw new IllegalArgumentException("Dynamic programming needs cost terms that depend only on the task and its slot");
+        }
+        this.warmStartStrategy = warmStartStrategy;
+    }
+
+    /**
+     * Whether the cost model of {@code costConfig} is local, which the constructor requires.
+     */
+    public static boolean supports(SchedulerConfig schedulerConfig, CostConfig costConfig) {
+        return new CostModel(schedulerConfig, costConfig).isLocal();
+    }
+
+    @Override
+    public String configurationKey() {
+        return warmStartStrategy == null ? super.configurationKey()
+                : super.configurationKey() + "+warmStart:" + warmStartStrategy.configurationKey();
+    }
+
+    @Override
+    public ScheduleState findSchedule(ScheduleState startScheduleState, SearchMonitor monitor) {
+        if (startScheduleState == null) {
+            throw new IllegalArgumentException("Start state cannot be null");
+        }
+        if (startScheduleState.unplacedTasks().size() > MAX_TASKS) {
+            throw new IllegalArgumentException("Dynamic programming supports at most " + MAX_TASKS + " unplaced tasks");
+        }
+
+        ScheduleState incumbent = findWarmStartIncumbent(warmStartStrategy, startScheduleState, monitor);
+        int incumbentCost = Math.min(incumbent != null ? incumbent.costSoFar() : INFEASIBLE, monitor.getBestCost());
+        int budget = incumbentCost == INFEASIBLE ? INFEASIBLE : incumbentCost - startScheduleState.costSoFar();
+
+        Run run = new Run(startScheduleState, monitor);
+        int optimum = run.solve(budget);
+        monitor.updateNodesExplored(run.nodesExplored);
+
+        if (run.aborted) {
+            monitor.markLimitReached();
+            log.warn("Dynamic programming stopped after {} states, falling back to warm start", run.memo.size());
+            return incumbent != null ? incumbent : startScheduleState;
+        }
+        monitor.markProvenOptimal();
+        if (optimum >= budget) {
+            if (budget == INFEASIBLE) {
+                log.warn("Dynamic programming proved that no complete schedule exists ({} states)", run.memo.size());
+            }
+            return incumbent != null ? incumbent : startScheduleState;
+        }
+
+        ScheduleState result = run.reconstruct(startScheduleState.costSoFar() + optimum);
+        monitor.offerIncumbent(result);
+        log.info("Dynamic programming found optimal cost {} over {} states in {}ms",
+                result.costSoFar(), run.memo.size(), System.currentTimeMillis() - run.startTime);
+        return result;
+    }
+
+    private final class Run {
+        private final SearchMonitor monitor;
+        private final long startTime = System.currentTimeMillis();
+        private final Task[] tasks;
+        private final int[][] dependencies;
+        private final long[] dependencyMasks;
+        private final int[] fixedEarliestStart;
+        private final int[][] dependents;
+        private final Map<UUID, Placement> placed;
+        private final Map<UUID, Task> unplaced;
+        private final ScheduleState working;
+        private final long fullMask;
+        private final int[] endMinute;
+        private final long[] occupancy;
+        private final Map<StateKey, Decision> memo = new HashMap<>();
+        private long mask;
+        private int nodesExplored;
+        private boolean aborted;
+
+        private Run(ScheduleState startScheduleState, SearchMonitor monitor) {
+            this.monitor = monitor;
+            DependencyIndex index = DependencyIndex.of(startScheduleState.unplacedTasks().values());
+            tasks = new Task[index.size()];
+            dependencies = new int[index.size()][];
+            dependencyMasks = new long[index.size()];
+            fixedEarliestStart = new int[index.size()];
+            dependents = new int[index.size()][];
+            for (int i = 0; i < tasks.length; i++) {
+                tasks[i] = index.task(i);
+                dependencies[i] = index.dependencies(i);
+                for (int dep : dependencies[i]) {
+                    dependencyMasks[i] |= 1L << dep;
+                }
+                fixedEarliestStart[i] = Integer.MIN_VALUE;
+                for (UUID depId : tasks[i].getDependencyIds()) {
+                    if (index.indexOf(depId) < 0) {
+                        Placement dependency = startScheduleState.placedTasks().get(depId);
+                        fixedEarliestStart[i] = Math.max(fixedEarliestStart[i],
+                                dependency != null ? dependency.timeSlot().endMinute() : DependencyIndex.UNPLACED);
+                    }
+                }
+                dependents[i] = index.successors(i);
+            }
+            placed = new HashMap<>(startScheduleState.placedTasks());
+            unplaced = new HashMap<>(startScheduleState.unplacedTasks());
+            working = new ScheduleState(placed, unplaced, 0, 0);
+            fullMask = (1L << tasks.length) - 1;
+            endMinute = new int[tasks.length];
+            occupancy = new long[(gridCellCount() + 63) >>> 6];
+        }
+
+        /**
+         * Cheapest completion cost of the current state if it is below {@code budget}; otherwise some lower
+         * bound on it that is at least {@code budget} ({@link #INFEASIBLE} if there is no completion).
+         */
+        private int solve(int budget) {
+            if (mask == fullMask) {
+                return 0;
+            }
+            SortedScheduleView view = scheduleView(working);
+            int lowerBound = costModel.remainingLowerBound(unplaced.values(), view);
+            if (lowerBound >= budget) {
+                return lowerBound;
+            }
+            StateKey key = key();
+            Decision known = memo.get(key);
+            if (known != null && (known.exact() || known.cost() >= budget)) {
+                return known.cost();
+            }
+
+            nodesExplored++;
+            if (limitReached(nodesExplored, startTime, monitor) || memo.size() >= MAX_MEMO_STATES) {
+                aborted = true;
+                return INFEASIBLE;
+            }
+
+            int branchTask = -1;
+            int branchStart = 0;
+            int fewestPlacements = Integer.MAX_VALUE;
+            for (int i = 0; i < tasks.length; i++) {
+                if ((mask & (1L << i)) != 0 || (dependencyMasks[i] & ~mask) != 0 || fixedEarliestStart[i] == DependencyIndex.UNPLACED) {
+                    continue;
+                }
+                int earliestStart = earliestStart(i);
+                int placementCount = countPlacements(tasks[i], earliestStart, view.slots());
+                if (placementCount < fewestPlacements) {
+                    branchTask = i;
+                    branchStart = earliestStart;
+                    fewestPlacements = placementCount;
+                }
+                if (placementCount == 0) {
+                    break;
+                }
+            }
+
+            int best = INFEASIBLE;
+            Placement bestPlacement = null;
+            if (branchTask >= 0) {
+                Task task = tasks[branchTask];
+                Iterator<Placement> placements = placementsByCost(task, branchStart, view.slots());
+                while (placements.hasNext()) {
+                    Placement placement = placements.next();
+                    int bound = Math.min(best, budget);
+                    if (bound != INFEASIBLE) {
+                        int floor = costModel.placementFloor(task, placement.timeSlot(), view);
+                        if (floor >= bound) {
+                            best = Math.min(best, floor);
+                            break;
+                        }
+                    }
+                    int placementCost = calculatePlacementCost(task, placement.timeSlot(), view);
+                    if (bound != INFEASIBLE && placementCost >= bound) {
+                        best = Math.min(best, placementCost);
+                        continue;
+                    }
+                    place(branchTask, placement);
+                    int rest = solve(bound == INFEASIBLE ? INFEASIBLE : bound - placementCost);
+                    unplace(branchTask, placement);
+                    if (aborted) {
+                        return INFEASIBLE;
+                    }
+                    int cost = rest == INFEASIBLE ? INFEASIBLE : placementCost + rest;
+                    if (cost < best) {
+                        best = cost;
+                        bestPlacement = cost < bound ? placement : null;
+                    }
+                }
+            }
+            memo.put(key, new Decision(best, best < budget, branchTask, bestPlacement));
+            return best;
+        }
+
+        private ScheduleState reconstruct(int cost) {
+            while (mask != fullMask) {
+                Decision decision = memo.get(key());
+                place(decision.task(), decision.placement());
+            }
+            return new ScheduleState(new HashMap<>(placed), new HashMap<>(), cost, cost);
+        }
+
+        /**
+         * Placed set, occupied cells, then the end minute of every placed task with an unplaced dependent.
+         */
+        private StateKey key() {
+            long[] words = new long[1 + occupancy.length + tasks.length];
+            words[0] = mask;
+            System.arraycopy(occupancy, 0, words, 1, occupancy.length);
+            int length = 1 + occupancy.length;
+            for (int i = 0; i < tasks.length; i++) {
+                if ((mask & (1L << i)) != 0 && hasUnplacedDependent(i)) {
+                    words[length++] = endMinute[i];
+                }
+            }
+            return new StateKey(length == words.length ? words : Arrays.copyOf(words, length));
+        }
+
+        /**
+         * Only for tasks whose dependencies are all placed.
+         */
+        private int earliestStart(int task) {
+            int earliestStart = fixedEarliestStart[task];
+            for (int dep : dependencies[task]) {
+                earliestStart = Math.max(earliestStart, endMinute[dep]);
+            }
+            return earliestStart;
+        }
+
+        private boolean hasUnplacedDependent(int task) {
+            for (int dependent : dependents[task]) {
+                if ((mask & (1L << dependent)) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void place(int task, Placement placement) {
+            mask |= 1L << task;
+            placed.put(tasks[task].getId(), placement);
+            unplaced.remove(tasks[task].getId());
+            endMinute[task] = placement.timeSlot().endMinute();
+            toggleCells(placement);
+        }
+
+        private void unplace(int task, Placement placement) {
+            mask &= ~(1L << task);
+            placed.remove(tasks[task].getId());
+            unplaced.put(tasks[task].getId(), tasks[task]);
+            toggleCells(placement);
+        }
+
+        private void toggleCells(Placement placement) {
+            int first = gridCell(placement.timeSlot().startMinute());
+            int cells = (int) ((placement.task().getDuration().toMinutes() + schedulerConfig.timeSlotMinutes() - 1)
+                    / schedulerConfig.timeSlotMinutes());
+            for (int cell = first; cell < first + cells; cell++) {
+                occupancy[cell >>> 6] ^= 1L << cell;
+            }
+        }
+    }
+
+    private record Decision(int cost, boolean exact, int task, Placement placement) {
+    }
+
+    private record StateKey(long[] words) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StateKey other && Arrays.equals(words, other.words);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(words);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.datify.scheduler.planner.strategy;
+
+import com.datify.scheduler.config.CostConfig;
+import com.datify.scheduler.config.SchedulerConfig;
+import com.datify.scheduler.cost.SortedScheduleView;
+import com.datify.scheduler.model.DependencyIndex;
+import com.datify.scheduler.model.Placement;
+import com.datify.scheduler.model.ScheduleState;
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.planner.SearchMonitor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+
+/**
+ * Single-pass first-fit: tasks are taken in topological order and each one goes into its cheapest
+ * feasible slot (earliest slot on ties). Never backtracks, so it may leave tasks unplaced, but it is
+ * fast enough for large inputs and gives the exact strategies an incumbent to prune against.
+ */
+@Slf4j
+public class GreedyStrategy extends AbstractPlanningStrategy {
+
+    public GreedyStrategy(SchedulerConfig schedulerConfig, CostConfig costConfig) {
+        super(schedulerConfig, costConfig);
+    }
+
+    @Override
+    public ScheduleState findSchedule(ScheduleState startScheduleState, SearchMonitor monitor) {
+        if (startScheduleState == null) {
+            throw new IllegalArgumentException("Start state cannot be null");
+        }
+
+        long startTime = System.currentTimeMillis();
+        Map<UUID, Placement> placed = new HashMap<>(startScheduleState.placedTasks());
+        Map<UUID, Task> unplaced = new HashMap<>(startScheduleState.unplacedTasks());
+        ScheduleState working = new ScheduleState(placed, unplaced, startScheduleState.costSoFar(), 0);
+        int cost = startScheduleState.costSoFar();
+        SortedScheduleView view = scheduleView(working);
+        DependencyIndex dependencyIndex = buildDependencyIndex(startScheduleState);
+        int[] endMinutes = dependencyIndex.endMinutes(placed);
+
+        List<Task> order = topologicalOrder(startScheduleState.unplacedTasks());
+        if (order.size() < startScheduleState.unplacedTasks().size()) {
+            log.warn("{} tasks are part of a dependency cycle and cannot be placed",
+                    startScheduleState.unplacedTasks().size() - order.size());
+        }
+
+        for (Task task : order) {
+            int index = dependencyIndex.indexOf(task.getId());
+            Iterator<Placement> candidates = placementsByCost(task, dependencyIndex.earliestStart(index, endMinutes), view.slots());
+            if (!candidates.hasNext()) {
+                log.warn("Greedy search found no feasible slot for task {}", task.getName());
+                continue;
+            }
+
+            Placement best = candidates.next();
+            int bestCost = calculatePlacementCost(task, best.timeSlot(), view);
+            while (candidates.hasNext()) {
+                Placement candidate = candidates.next();
+                if (costModel.placementFloor(task, candidate.timeSlot(), view) >= bestCost) {
+                    break;
+                }
+                int candidateCost = calculatePlacementCost(task, candidate.timeSlot(), view);
+                if (candidateCost < bestCost) {
+                    best = candidate;
+                    bestCost = candidateCost;
+                }
+            }
+            placed.put(task.getId(), best);
+            unplaced.remove(task.getId());
+            view = view.with(placed, best.timeSlot().toPacked());
+            endMinutes[index] = best.timeSlot().endMinute();
+            cost += bestCost;
+        }
+
+        ScheduleState result = new ScheduleState(placed, unplaced, cost, cost + estimateRemainingCost(unplaced.values(), view));
+        monitor.updateNodesExplored(startScheduleState.unplacedTasks().size());
+        monitor.offerIncumbent(result);
+        log.info("Greedy search placed {}/{} tasks with cost {} in {}ms", placed.size() - startScheduleState.placedTasks().size(),
+                startScheduleState.unplacedTasks().size(), cost, System.currentTimeMillis() - startTime);
+        return result;
+    }
+}
@@ -1,7 +1,20 @@
 package com.datify.scheduler.planner.strategy;
 
 import com.datify.scheduler.model.ScheduleState;
+import com.datify.scheduler.planner.SearchMonitor;
 
+/**
+ * Implementations are configured once and safe to call concurrently: all search state belongs
+ * to a single {@link #findSchedule} call, so one instance can serve many planning requests.
+ */
 public interface IPlanningStrategy {
-    ScheduleState findSchedule(ScheduleState startScheduleState);
+    default ScheduleState findSchedule(ScheduleState startScheduleState) {
+        return findSchedule(startScheduleState, new SearchMonitor());
+    }
+
+    ScheduleState findSchedule(ScheduleState startScheduleState, SearchMonitor monitor);
+
+    default String configurationKey() {
+        return getClass().getName();
+    }
 }
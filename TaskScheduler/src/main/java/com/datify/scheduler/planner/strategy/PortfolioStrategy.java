@@ -0,0 +1,109 @@
+package com.datify.scheduler.planner.strategy;
+
+import com.datify.scheduler.model.ScheduleState;
+import com.datify.scheduler.planner.SearchMonitor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs several strategies concurrently on the same problem and returns the cheapest complete schedule found
+ * within {@code deadlineMs}. Members share one monitor, so an incumbent found by any of them tightens the
+ * pruning bound of the others; once a member finishes exhaustively (proving the shared incumbent optimal)
+ * the rest are cancelled. Members still obey their own node and time limits.
+ */
+@Slf4j
+public class PortfolioStrategy implements IPlanningStrategy {
+    private final List<IPlanningStrategy> strategies;
+    private final long deadlineMs;
+
+    public PortfolioStrategy(List<IPlanningStrategy> strategies, long deadlineMs) {
+        if (strategies == null || strategies.isEmpty()) throw new IllegalArgumentException("Portfolio needs at least one strategy");
+        if (deadlineMs <= 0) throw new IllegalArgumentException("deadlineMs must be > 0");
+        this.strategies = List.copyOf(strategies);
+        this.deadlineMs = deadlineMs;
+    }
+
+    @Override
+    public ScheduleState findSchedule(ScheduleState startScheduleState, SearchMonitor monitor) {
+        if (startScheduleState == null) {
+            throw new IllegalArgumentException("Start state cannot be null");
+        }
+
+        SearchMonitor shared = new SearchMonitor(monitor);
+        ExecutorService executor = Executors.newFixedThreadPool(strategies.size(), daemonThreads());
+        CompletionService<Member> completion = new ExecutorCompletionService<>(executor);
+        for (IPlanningStrategy strategy : strategies) {
+            completion.submit(() -> {
+                SearchMonitor own = new SearchMonitor(shared);
+                ScheduleState result = strategy.findSchedule(startScheduleState, own);
+                return new Member(strategy, result, own.isProvenOptimal());
+            });
+        }
+
+        long deadline = System.currentTimeMillis() + deadlineMs;
+        ScheduleState best = null;
+        try {
+            for (int finished = 0; finished < strategies.size(); finished++) {
+                long remaining = deadline - System.currentTimeMillis();
+                Future<Member> next = remaining > 0 ? completion.poll(remaining, TimeUnit.MILLISECONDS) : null;
+                if (next == null) {
+                    if (!shared.isCancelled()) {
+                        log.info("Portfolio deadline of {}ms reached, stopping remaining strategies", deadlineMs);
+                        shared.cancel();
+                    }
+                    next = completion.take();
+                }
+                Member member = next.get();
+                best = cheaper(best, member.result());
+                if (member.provenOptimal() && !shared.isCancelled()) {
+                    log.info("{} proved optimality, cancelling the other strategies", member.strategy().getClass().getSimpleName());
+                    shared.cancel();
+                    monitor.markProvenOptimal();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            shared.cancel();
+        } catch (ExecutionException e) {
+            shared.cancel();
+            throw new IllegalStateException("Portfolio member failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        best = cheaper(best, shared.getBestSchedule());
+        return best != null ? best : startScheduleState;
+    }
+
+    private ScheduleState cheaper(ScheduleState best, ScheduleState candidate) {
+        if (candidate == null || !candidate.isComplete()) {
+            return best;
+        }
+        return best == null || candidate.costSoFar() < best.costSoFar() ? candidate : best;
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "portfolio-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public String configurationKey() {
+        List<String> keys = new ArrayList<>();
+        for (IPlanningStrategy strategy : strategies) {
+            keys.add(strategy.configurationKey());
+        }
+        return getClass().getName() + keys + "deadline=" + deadlineMs;
+    }
+
+    private record Member(IPlanningStrategy strategy, ScheduleState result, boolean provenOptimal) {
+    }
+}
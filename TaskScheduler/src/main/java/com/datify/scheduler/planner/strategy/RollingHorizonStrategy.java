@@ -0,0 +1,148 @@
+package com.datify.scheduler.planner.strategy;
+
+import com.datify.scheduler.config.CostConfig;
+import com.datify.scheduler.config.PlanningHorizon;
+import com.datify.scheduler.config.SchedulerConfig;
+import com.datify.scheduler.cost.SortedScheduleView;
+import com.datify.scheduler.model.Placement;
+import com.datify.scheduler.model.ScheduleState;
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.planner.SearchMonitor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Plans a long dated horizon as a sequence of overlapping windows. Each window of {@code windowDays} is
+ * solved by a strategy from {@code windowStrategyFactory} over the tasks that fit its capacity; placements
+ * in the first {@code commitDays} are frozen and the window slides forward by that amount, so later tasks
+ * and dependents are carried into the next window. The time budget is split evenly across windows.
+ */
+@Slf4j
+public class RollingHorizonStrategy extends AbstractPlanningStrategy {
+    private final int windowDays;
+    private final int commitDays;
+    private final Function<SchedulerConfig, IPlanningStrategy> windowStrategyFactory;
+
+    public RollingHorizonStrategy(SchedulerConfig schedulerConfig, CostConfig costConfig, int windowDays, int commitDays,
+                                  Function<SchedulerConfig, IPlanningStrategy> windowStrategyFactory) {
+        super(schedulerConfig, costConfig);
+        if (schedulerConfig.horizon() == null) throw new IllegalArgumentException("Rolling horizon requires a dated horizon");
+        if (windowDays <= 0) throw new IllegalArgumentException("windowDays must be > 0");
+        if (commitDays <= 0 || commitDays > windowDays) throw new IllegalArgumentException("commitDays must be in 1..windowDays");
+        this.windowDays = windowDays;
+        this.commitDays = commitDays;
+        this.windowStrategyFactory = windowStrategyFactory;
+    }
+
+    @Override
+    public ScheduleState findSchedule(ScheduleState startScheduleState, SearchMonitor monitor) {
+        if (startScheduleState == null) {
+            throw new IllegalArgumentException("Start state cannot be null");
+        }
+
+        PlanningHorizon horizon = schedulerConfig.horizon();
+        long startTime = System.currentTimeMillis();
+        int windowCount = Math.max(1, (horizon.days() - windowDays + commitDays - 1) / commitDays + 1);
+        SchedulerConfig windowBaseConfig = schedulerConfig.withMaxTimeMs(schedulerConfig.maxTimeMs() / windowCount);
+
+        Map<UUID, Placement> placed = new HashMap<>(startScheduleState.placedTasks());
+        Map<UUID, Task> unplaced = new HashMap<>(startScheduleState.unplacedTasks());
+        SortedScheduleView committed = new SortedScheduleView(placed, occupiedSlots(startScheduleState));
+        int cost = startScheduleState.costSoFar();
+
+        LocalDate windowStart = horizon.startDate();
+        while (!unplaced.isEmpty() && windowStart.isBefore(horizon.endDateExclusive()) && !monitor.isCancelled()) {
+            PlanningHorizon window = horizon.window(windowStart, windowDays);
+            boolean lastWindow = window.endDateExclusive().equals(horizon.endDateExclusive());
+            LocalDate commitEnd = lastWindow ? window.endDateExclusive() : windowStart.plusDays(commitDays);
+
+            Map<UUID, Task> batch = selectBatch(unplaced, placed, window.days() * schedulerConfig.workDayMinutes());
+            if (!batch.isEmpty()) {
+                ScheduleState windowStartState = new ScheduleState(relevantPlacements(placed, batch, windowStart), batch, 0, 0);
+                ScheduleState solved = solveWindow(windowBaseConfig.withHorizon(window), windowStartState, monitor);
+
+                for (Task task : batch.values()) {
+                    Placement placement = solved.placedTasks().get(task.getId());
+                    if (placement != null && placement.timeSlot().date().isBefore(commitEnd)) {
+                        cost += calculatePlacementCost(task, placement.timeSlot(), committed);
+                        placed.put(task.getId(), placement);
+                        unplaced.remove(task.getId());
+                        committed = committed.with(placed, placement.timeSlot().toPacked());
+                    }
+                }
+                log.debug("Window {}..{} committed {} of {} tasks", windowStart, commitEnd, batch.size() - countUnplaced(batch, unplaced), batch.size());
+            }
+            windowStart = commitEnd;
+        }
+
+        ScheduleState result = new ScheduleState(placed, unplaced, cost, cost + estimateRemainingCost(unplaced.values(), committed));
+        monitor.offerIncumbent(result);
+        log.info("Rolling horizon placed {}/{} tasks over {} days with cost {} in {}ms",
+                startScheduleState.unplacedTasks().size() - unplaced.size(), startScheduleState.unplacedTasks().size(),
+                horizon.days(), cost, System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    private ScheduleState solveWindow(SchedulerConfig windowConfig, ScheduleState windowStartState, SearchMonitor monitor) {
+        ScheduleState solved = windowStrategyFactory.apply(windowConfig).findSchedule(windowStartState, new SearchMonitor(monitor, false));
+        if (solved.isComplete()) {
+            return solved;
+        }
+        return new GreedyStrategy(windowConfig, costConfig).findSchedule(windowStartState, new SearchMonitor(monitor, false));
+    }
+
+    /**
+     * Unplaced tasks in topological order whose dependencies are already placed or in the batch, up to the
+     * window's working capacity.
+     */
+    private Map<UUID, Task> selectBatch(Map<UUID, Task> unplaced, Map<UUID, Placement> placed, long capacityMinutes) {
+        Map<UUID, Task> batch = new LinkedHashMap<>();
+        long minutes = 0;
+        for (Task task : topologicalOrder(unplaced)) {
+            boolean ready = task.getDependencyIds().stream()
+                    .allMatch(depId -> placed.containsKey(depId) || batch.containsKey(depId));
+            long duration = task.getDuration().toMinutes();
+            if (ready && minutes + duration <= capacityMinutes) {
+                batch.put(task.getId(), task);
+                minutes += duration;
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Frozen placements the window solver must see: dependencies of the batch (for ordering) and anything
+     * already placed on or after the window start (for overlap).
+     */
+    private Map<UUID, Placement> relevantPlacements(Map<UUID, Placement> placed, Map<UUID, Task> batch, LocalDate windowStart) {
+        Map<UUID, Placement> relevant = new HashMap<>();
+        for (Task task : batch.values()) {
+            for (UUID depId : task.getDependencyIds()) {
+                Placement dependency = placed.get(depId);
+                if (dependency != null) relevant.put(depId, dependency);
+            }
+        }
+        for (Map.Entry<UUID, Placement> entry : placed.entrySet()) {
+            LocalDate date = entry.getValue().timeSlot().date();
+            if (date == null || !date.isBefore(windowStart)) relevant.put(entry.getKey(), entry.getValue());
+        }
+        return relevant;
+    }
+
+    private int countUnplaced(Map<UUID, Task> batch, Map<UUID, Task> unplaced) {
+        int count = 0;
+        for (UUID id : batch.keySet()) {
+            if (unplaced.containsKey(id)) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public String configurationKey() {
+        return super.configurationKey() + "window=" + windowDays + ",commit=" + commitDays + ",inner="
+                + windowStrategyFactory.apply(schedulerConfig).configurationKey();
+    }
+}
@@ -0,0 +1,20 @@
+package com.datify.scheduler.planner.whatif;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ConstraintViolation(Type type, List<UUID> taskIds, String message) {
+
+    public enum Type {
+        OVERLAP,
+        DEPENDENCY_ORDER,
+        DEPENDENCY_UNPLACED,
+        OUTSIDE_WORK_HOURS,
+        OUTSIDE_HORIZON
+    }
+
+    public ConstraintViolation {
+        if (type == null) throw new IllegalArgumentException("type must not be null");
+        taskIds = List.copyOf(taskIds);
+    }
+}
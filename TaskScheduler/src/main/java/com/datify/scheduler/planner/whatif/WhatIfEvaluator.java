@@ -0,0 +1,352 @@
+package com.datify.scheduler.planner.whatif;
+
+import com.datify.scheduler.config.CostConfig;
+import com.datify.scheduler.config.SchedulerConfig;
+import com.datify.scheduler.cost.CostModel;
+import com.datify.scheduler.cost.ScheduleView;
+import com.datify.scheduler.model.PackedSlot;
+import com.datify.scheduler.model.Placement;
+import com.datify.scheduler.model.ScheduleState;
+import com.datify.scheduler.model.Task;
+import com.datify.scheduler.model.TimeSlot;
+
+import java.util.*;
+
+/**
+ * What-if queries against a solved schedule: the cost and hard-constraint violations of moving, swapping or
+ * removing placements. Each query looks only at the edited tasks, their neighbours on the timeline and their
+ * direct dependencies and dependents, so nothing is copied and the cost is a delta of the
+ * {@link CostModel}: the edited tasks' placement deltas against the rest of the schedule, before and after.
+ * {@link #apply} commits a feasible edit in O(log n), which makes the
+ * evaluator usable for interactive editing and local search. Not thread-safe.
+ */
+public class WhatIfEvaluator {
+    private final SchedulerConfig schedulerConfig;
+    private final CostModel costModel;
+    private final boolean datedHorizon;
+    private final Map<UUID, Placement> placements;
+    private final Map<UUID, Task> unplaced;
+    private final TreeMap<Integer, Placement> byStart = new TreeMap<>();
+    private final Map<UUID, List<UUID>> dependents = new HashMap<>();
+    private int cost;
+    private long version;
+
+    public WhatIfEvaluator(ScheduleState schedule, SchedulerConfig schedulerConfig, CostConfig costConfig) {
+        if (schedule == null) throw new IllegalArgumentException("Schedule cannot be null");
+        if (schedulerConfig == null) throw new IllegalArgumentException("schedulerConfig must not be null");
+        if (costConfig == null) throw new IllegalArgumentException("costConfig must not be null");
+        this.schedulerConfig = schedulerConfig;
+        this.costModel = new CostModel(schedulerConfig, costConfig);
+        this.datedHorizon = schedulerConfig.horizon() != null;
+        this.placements = new HashMap<>(schedule.placedTasks());
+        this.unplaced = new HashMap<>(schedule.unplacedTasks());
+        this.cost = schedule.costSoFar();
+
+        for (Placement placement : placements.values()) {
+            byStart.put(placement.timeSlot().startMinute(), placement);
+            indexDependents(placement.task());
+        }
+        for (Task task : unplaced.values()) {
+            indexDependents(task);
+        }
+        int previousEnd = Integer.MIN_VALUE;
+        for (Placement placement : byStart.values()) {
+            if (placement.timeSlot().startMinute() < previousEnd) {
+                throw new IllegalArgumentException("Schedule has overlapping placements at " + placement.timeSlot());
+            }
+            previousEnd = placement.timeSlot().endMinute();
+        }
+        if (byStart.size() != placements.size()) {
+            throw new IllegalArgumentException("Schedule has overlapping placements");
+        }
+    }
+
+    private void indexDependents(Task task) {
+        for (UUID dependency : task.getDependencyIds()) {
+            dependents.computeIfAbsent(dependency, id -> new ArrayList<>()).add(task.getId());
+        }
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * {@code taskId} at {@code timeSlot}, which must have the task's duration.
+     */
+    public WhatIfResult evaluateMove(UUID taskId, TimeSlot timeSlot) {
+        Placement current = placed(taskId);
+        if (timeSlot == null) throw new IllegalArgumentException("timeSlot cannot be null");
+        if (timeSlot.endMinute() - timeSlot.startMinute() != current.task().getDuration().toMinutes()) {
+            throw new IllegalArgumentException("timeSlot must have the duration of task " + current.task().getName());
+        }
+        if (timeSlot.isDated() != datedHorizon) {
+            List<Placement> moved = List.of(new Placement(current.task(), timeSlot));
+            int delta = costDelta(moved, Set.of(taskId));
+            return new WhatIfResult(cost + delta, delta, List.of(new ConstraintViolation(ConstraintViolation.Type.OUTSIDE_HORIZON,
+                    List.of(taskId), (timeSlot.isDated() ? "A dated" : "An undated") + " slot does not fit this horizon")),
+                    moved, List.of(), version);
+        }
+        return evaluate(Map.of(taskId, timeSlot.toPacked()), Set.of());
+    }
+
+    /**
+     * The two tasks trade start times; each keeps its own duration.
+     */
+    public WhatIfResult evaluateSwap(UUID firstTaskId, UUID secondTaskId) {
+        if (Objects.equals(firstTaskId, secondTaskId)) throw new IllegalArgumentException("Cannot swap a task with itself");
+        Placement first = placed(firstTaskId);
+        Placement second = placed(secondTaskId);
+        Map<UUID, Long> moves = new LinkedHashMap<>();
+        moves.put(firstTaskId, startingAt(first.task(), second.timeSlot().startMinute()));
+        moves.put(secondTaskId, startingAt(second.task(), first.timeSlot().startMinute()));
+        return evaluate(moves, Set.of());
+    }
+
+    public WhatIfResult evaluateRemove(UUID taskId) {
+        placed(taskId);
+        return evaluate(Map.of(), Set.of(taskId));
+    }
+
+    /**
+     * Commits a feasible result computed against the current schedule.
+     */
+    public void apply(WhatIfResult result) {
+        if (result.version() != version) throw new IllegalStateException("Result was computed before the last applied edit");
+        if (!result.isFeasible()) throw new IllegalArgumentException("Cannot apply an edit that violates constraints: " + result.violations());
+
+        for (UUID taskId : result.removed()) {
+            Placement placement = placements.remove(taskId);
+            byStart.remove(placement.timeSlot().startMinute());
+            unplaced.put(taskId, placement.task());
+        }
+        for (Placement placement : result.moved()) {
+            byStart.remove(placements.get(placement.task().getId()).timeSlot().startMinute());
+        }
+        for (Placement placement : result.moved()) {
+            placements.put(placement.task().getId(), placement);
+            byStart.put(placement.timeSlot().startMinute(), placement);
+        }
+        cost = result.cost();
+        version++;
+    }
+
+    public ScheduleState toScheduleState() {
+        return new ScheduleState(new HashMap<>(placements), new HashMap<>(unplaced), cost, cost);
+    }
+
+    private WhatIfResult evaluate(Map<UUID, Long> moves, Set<UUID> removed) {
+        List<ConstraintViolation> violations = new ArrayList<>();
+        List<Placement> moved = new ArrayList<>(moves.size());
+
+        for (UUID taskId : removed) {
+            for (UUID dependent : dependents.getOrDefault(taskId, List.of())) {
+                if (placements.containsKey(dependent) && !moves.containsKey(dependent) && !removed.contains(dependent)) {
+                    violations.add(new ConstraintViolation(ConstraintViolation.Type.DEPENDENCY_UNPLACED, List.of(dependent, taskId),
+                            placements.get(dependent).task().getName() + " depends on removed task " + placements.get(taskId).task().getName()));
+                }
+            }
+        }
+
+        List<Map.Entry<UUID, Long>> edits = new ArrayList<>(moves.entrySet());
+        for (int i = 0; i < edits.size(); i++) {
+            Placement current = placements.get(edits.get(i).getKey());
+            long slot = edits.get(i).getValue();
+            Placement next = new Placement(current.task(), toTimeSlot(slot));
+            moved.add(next);
+
+            checkWorkHours(next.task(), slot, violations);
+            checkOverlaps(next.task(), slot, moves, removed, violations);
+            for (int j = i + 1; j < edits.size(); j++) {
+                if (PackedSlot.intersects(slot, edits.get(j).getValue())) {
+                    Task other = placements.get(edits.get(j).getKey()).task();
+                    violations.add(overlap(next.task(), other));
+                }
+            }
+            checkDependencies(next.task(), slot, moves, removed, violations);
+        }
+
+        Set<UUID> edited = new HashSet<>(moves.keySet());
+        edited.addAll(removed);
+        int delta = costDelta(moved, edited);
+        return new WhatIfResult(cost + delta, delta, violations, moved, List.copyOf(removed), version);
+    }
+
+    /**
+     * Cost terms may look at the rest of the schedule, so the edited tasks are taken out, then their old and
+     * their new placements are added back one at a time on top of what stays. Deltas do not depend on the
+     * order of placements, so the difference of the two sums is the change of the whole schedule's cost.
+     */
+    private int costDelta(List<Placement> moved, Set<UUID> edited) {
+        EditedPlacements rest = new EditedPlacements(edited);
+        int delta = 0;
+        for (UUID taskId : edited) {
+            Placement current = placements.get(taskId);
+            delta -= costModel.placementDelta(current.task(), current.timeSlot(), rest);
+            rest.add(current);
+        }
+        rest.clearAdded();
+        for (Placement placement : moved) {
+            delta += costModel.placementDelta(placement.task(), placement.timeSlot(), rest);
+            rest.add(placement);
+        }
+        return delta;
+    }
+
+    private void checkWorkHours(Task task, long slot, List<ConstraintViolation> violations) {
+        int day = Math.floorDiv(PackedSlot.start(slot), PackedSlot.MINUTES_PER_DAY);
+        int dayBase = day * PackedSlot.MINUTES_PER_DAY;
+        if (PackedSlot.start(slot) - dayBase < PackedSlot.minuteOfDay(schedulerConfig.workStart())
+                || PackedSlot.end(slot) - dayBase > PackedSlot.minuteOfDay(schedulerConfig.workEnd())) {
+            violations.add(new ConstraintViolation(ConstraintViolation.Type.OUTSIDE_WORK_HOURS, List.of(task.getId()),
+                    task.getName() + " would run outside " + schedulerConfig.workStart() + "-" + schedulerConfig.workEnd()));
+        }
+        boolean inHorizon = datedHorizon
+                ? day >= schedulerConfig.horizon().startDate().toEpochDay() && day < schedulerConfig.horizon().endDateExclusive().toEpochDay()
+                : day >= 0 && day < 7;
+        if (!inHorizon) {
+            violations.add(new ConstraintViolation(ConstraintViolation.Type.OUTSIDE_HORIZON, List.of(task.getId()),
+                    task.getName() + " would be placed outside the planning horizon"));
+        }
+    }
+
+    /**
+     * Placements never overlap, so only the last one starting at or before {@code slot} can reach into it from
+     * the left; everything else that overlaps starts inside it.
+     */
+    private void checkOverlaps(Task task, long slot, Map<UUID, Long> moves, Set<UUID> removed, List<ConstraintViolation> violations) {
+        int start = PackedSlot.start(slot);
+        Map.Entry<Integer, Placement> before = byStart.floorEntry(start);
+        if (before != null && before.getValue().timeSlot().endMinute() > start && isStationary(before.getValue(), moves, removed)) {
+            violations.add(overlap(task, before.getValue().task()));
+        }
+        for (Placement placement : byStart.subMap(start, false, PackedSlot.end(slot), false).values()) {
+            if (isStationary(placement, moves, removed)) {
+                violations.add(overlap(task, placement.task()));
+            }
+        }
+    }
+
+    private void checkDependencies(Task task, long slot, Map<UUID, Long> moves, Set<UUID> removed, List<ConstraintViolation> violations) {
+        for (UUID dependency : task.getDependencyIds()) {
+            Long dependencySlot = moves.get(dependency);
+            if (dependencySlot == null && placements.containsKey(dependency) && !removed.contains(dependency)) {
+                dependencySlot = placements.get(dependency).timeSlot().toPacked();
+            }
+            if (dependencySlot == null) {
+                violations.add(new ConstraintViolation(ConstraintViolation.Type.DEPENDENCY_UNPLACED, List.of(task.getId(), dependency),
+                        task.getName() + " depends on a task that is not placed"));
+            } else if (PackedSlot.end(dependencySlot) > PackedSlot.start(slot)) {
+                violations.add(new ConstraintViolation(ConstraintViolation.Type.DEPENDENCY_ORDER, List.of(task.getId(), dependency),
+                        task.getName() + " would start before its dependency " + placements.get(dependency).task().getName() + " ends"));
+            }
+        }
+        for (UUID dependent : dependents.getOrDefault(task.getId(), List.of())) {
+            Placement placement = placements.get(dependent);
+            if (placement != null && isStationary(placement, moves, removed) && PackedSlot.end(slot) > placement.timeSlot().startMinute()) {
+                violations.add(new ConstraintViolation(ConstraintViolation.Type.DEPENDENCY_ORDER, List.of(dependent, task.getId()),
+                        placement.task().getName() + " would start before its dependency " + task.getName() + " ends"));
+            }
+        }
+    }
+
+    private boolean isStationary(Placement placement, Map<UUID, Long> moves, Set<UUID> removed) {
+        UUID id = placement.task().getId();
+        return !moves.containsKey(id) && !removed.contains(id);
+    }
+
+    private ConstraintViolation overlap(Task task, Task other) {
+        return new ConstraintViolation(ConstraintViolation.Type.OVERLAP, List.of(task.getId(), other.getId()),
+                task.getName() + " would overlap " + other.getName());
+    }
+
+    private Placement placed(UUID taskId) {
+        Placement placement = placements.get(taskId);
+        if (placement == null) throw new IllegalArgumentException("Task " + taskId + " is not placed");
+        return placement;
+    }
+
+    private long startingAt(Task task, int start) {
+        return PackedSlot.pack(start, start + (int) task.getDuration().toMinutes());
+    }
+
+    /**
+     * A slot that would run past midnight is cut off at the end of its day; it breaks the work hours anyway.
+     */
+    private TimeSlot toTimeSlot(long slot) {
+        int dayBase = Math.floorDiv(PackedSlot.start(slot), PackedSlot.MINUTES_PER_DAY) * PackedSlot.MINUTES_PER_DAY;
+        int end = Math.min(PackedSlot.end(slot), dayBase + PackedSlot.MINUTES_PER_DAY - 1);
+        return PackedSlot.toTimeSlot(PackedSlot.pack(PackedSlot.start(slot), end), datedHorizon);
+    }
+
+    /**
+     * The placements without the edited tasks, plus whatever was added since: a view over the evaluator's
+     * indexes, so costing an edit copies nothing and every lookup stays logarithmic.
+     */
+    private final class EditedPlacements implements ScheduleView {
+        private final Set<UUID> hidden;
+        private final Map<UUID, Placement> added = new HashMap<>();
+        private final TreeMap<Integer, Placement> addedByStart = new TreeMap<>();
+
+        private EditedPlacements(Set<UUID> hidden) {
+            this.hidden = hidden;
+        }
+
+        private void add(Placement placement) {
+            added.put(placement.task().getId(), placement);
+            addedByStart.put(placement.timeSlot().startMinute(), placement);
+        }
+
+        private void clearAdded() {
+            added.clear();
+            addedByStart.clear();
+        }
+
+        @Override
+        public Placement placement(UUID taskId) {
+            Placement placement = added.get(taskId);
+            if (placement != null) {
+                return placement;
+            }
+            return hidden.contains(taskId) ? null : placements.get(taskId);
+        }
+
+        @Override
+        public long slotAtOrBefore(int minute) {
+            Map.Entry<Integer, Placement> kept = byStart.floorEntry(minute);
+            while (kept != null && hidden.contains(kept.getValue().task().getId())) {
+                kept = byStart.lowerEntry(kept.getKey());
+            }
+            Map.Entry<Integer, Placement> extra = addedByStart.floorEntry(minute);
+            if (kept == null || extra != null && extra.getKey() > kept.getKey()) {
+                kept = extra;
+            }
+            return kept == null ? NONE : kept.getValue().timeSlot().toPacked();
+        }
+
+        @Override
+        public long slotAtOrAfter(int minute) {
+            Map.Entry<Integer, Placement> kept = byStart.ceilingEntry(minute);
+            while (kept != null && hidden.contains(kept.getValue().task().getId())) {
+                kept = byStart.higherEntry(kept.getKey());
+            }
+            Map.Entry<Integer, Placement> extra = addedByStart.ceilingEntry(minute);
+            if (kept == null || extra != null && extra.getKey() < kept.getKey()) {
+                kept = extra;
+            }
+            return kept == null ? NONE : kept.getValue().timeSlot().toPacked();
+        }
+
+        @Override
+        public List<Placement> placedDependents(UUID taskId) {
+            List<Placement> placed = new ArrayList<>();
+            for (UUID dependent : dependents.getOrDefault(taskId, List.of())) {
+                Placement placement = placement(dependent);
+                if (placement != null) {
+                    placed.add(placement);
+                }
+            }
+            return placed;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.datify.scheduler.planner.whatif;
+
+import com.datify.scheduler.model.Placement;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of one hypothetical edit: the schedule cost after it, the change against the current cost and
+ * every hard constraint it would break. {@code moved} and {@code removed} describe the edit itself so that
+ * {@link WhatIfEvaluator#apply} can commit it.
+ */
+public record WhatIfResult(int cost, int costDelta, List<ConstraintViolation> violations,
+                           List<Placement> moved, List<UUID> removed, long version) {
+
+    public WhatIfResult {
+        violations = List.copyOf(violations);
+        moved = List.copyOf(moved);
+        removed = List.copyOf(removed);
+    }
+
+    public boolean isFeasible() {
+        return violations.isEmpty();
+    }
+}
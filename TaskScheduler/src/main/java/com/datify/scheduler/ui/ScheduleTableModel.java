@@ -0,0 +1,161 @@
+package com.datify.scheduler.ui;
+
+import com.datify.scheduler.model.Placement;
+import com.datify.scheduler.model.TimeSlot;
+
+import javax.swing.table.AbstractTableModel;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Read-only schedule grid: one row per {@code granularityMinutes} between {@code viewStart} and
+ * {@code viewEnd}, one column per day over {@code weeks} weeks. Cell lookups go through a placement index
+ * rebuilt once per {@link #setPlacements}, which fires a single table event instead of one per cell.
+ * Undated placements go into the first week by weekday; dated placements are laid out from {@code firstMonday}.
+ */
+public class ScheduleTableModel extends AbstractTableModel {
+    private static final int DAYS_PER_WEEK = 7;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM");
+
+    private LocalTime viewStart = LocalTime.of(8, 0);
+    private LocalTime viewEnd = LocalTime.of(21, 0);
+    private int granularityMinutes = 30;
+    private int weeks = 1;
+    private LocalDate firstMonday;
+
+    private String[] timeLabels = new String[0];
+    private Placement[][] cells = new Placement[0][0];
+    private List<Placement> placements = List.of();
+
+    public ScheduleTableModel() {
+        rebuildRows();
+    }
+
+    public void setView(LocalTime viewStart, LocalTime viewEnd, int granularityMinutes, int weeks) {
+        if (viewStart == null || viewEnd == null || !viewStart.isBefore(viewEnd)) {
+            throw new IllegalArgumentException("viewStart must be before viewEnd");
+        }
+        if (granularityMinutes <= 0) throw new IllegalArgumentException("granularityMinutes must be > 0");
+        if (weeks <= 0) throw new IllegalArgumentException("weeks must be > 0");
+
+        this.viewStart = viewStart;
+        this.viewEnd = viewEnd;
+        this.granularityMinutes = granularityMinutes;
+        this.weeks = weeks;
+        rebuildRows();
+        rebuildIndex();
+        fireTableStructureChanged();
+    }
+
+    /**
+     * Lays out dated placements from {@code firstMonday} over {@code weeks} columns of days; a {@code null}
+     * Monday shows the abstract week. Only fires a structure change when the layout actually changes.
+     */
+    public void setCalendar(LocalDate firstMonday, int weeks) {
+        if (firstMonday != null && firstMonday.getDayOfWeek() != DayOfWeek.MONDAY) {
+            throw new IllegalArgumentException("firstMonday must be a Monday");
+        }
+        if (weeks <= 0) throw new IllegalArgumentException("weeks must be > 0");
+        if (Objects.equals(this.firstMonday, firstMonday) && this.weeks == weeks) {
+            return;
+        }
+        this.firstMonday = firstMonday;
+        this.weeks = weeks;
+        rebuildIndex();
+        fireTableStructureChanged();
+    }
+
+    public void setGranularityMinutes(int granularityMinutes) {
+        setView(viewStart, viewEnd, granularityMinutes, weeks);
+    }
+
+    public void setPlacements(Collection<Placement> placements) {
+        this.placements = List.copyOf(placements);
+        rebuildIndex();
+        fireTableDataChanged();
+    }
+
+    public void clear() {
+        setPlacements(List.of());
+    }
+
+    public int getGranularityMinutes() {
+        return granularityMinutes;
+    }
+
+    public int getWeeks() {
+        return weeks;
+    }
+
+    @Override
+    public int getRowCount() {
+        return timeLabels.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return 1 + weeks * DAYS_PER_WEEK;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        if (column == 0) return "Time";
+        int day = column - 1;
+        String dayName = DayOfWeek.of(day % DAYS_PER_WEEK + 1).getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+        if (firstMonday != null) {
+            return dayName.substring(0, 3) + " " + firstMonday.plusDays(day).format(DATE_FORMAT);
+        }
+        return weeks == 1 ? dayName : "W" + (day / DAYS_PER_WEEK + 1) + " " + dayName.substring(0, 3);
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 0 ? String.class : Placement.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return column == 0 ? timeLabels[row] : cells[row][column - 1];
+    }
+
+    private void rebuildRows() {
+        int minutes = viewEnd.toSecondOfDay() / 60 - viewStart.toSecondOfDay() / 60;
+        int rows = (minutes + granularityMinutes - 1) / granularityMinutes;
+        timeLabels = new String[rows];
+        for (int row = 0; row < rows; row++) {
+            timeLabels[row] = viewStart.plusMinutes((long) row * granularityMinutes).toString();
+        }
+    }
+
+    private void rebuildIndex() {
+        cells = new Placement[timeLabels.length][weeks * DAYS_PER_WEEK];
+        int viewStartMinute = viewStart.toSecondOfDay() / 60;
+
+        for (Placement placement : placements) {
+            TimeSlot slot = placement.timeSlot();
+            int column = dayColumnOf(slot);
+            if (column < 0 || column >= weeks * DAYS_PER_WEEK) continue;
+
+            int startRow = Math.max(0, Math.floorDiv(slot.start().toSecondOfDay() / 60 - viewStartMinute, granularityMinutes));
+            int endMinute = slot.end().toSecondOfDay() / 60 - viewStartMinute;
+            int endRow = Math.min(cells.length, Math.floorDiv(endMinute + granularityMinutes - 1, granularityMinutes));
+            for (int row = startRow; row < endRow; row++) {
+                cells[row][column] = placement;
+            }
+        }
+    }
+
+    private int dayColumnOf(TimeSlot slot) {
+        if (slot.isDated()) {
+            return firstMonday == null ? -1 : (int) (slot.date().toEpochDay() - firstMonday.toEpochDay());
+        }
+        return slot.dayOfWeek().getValue() - 1;
+    }
+}
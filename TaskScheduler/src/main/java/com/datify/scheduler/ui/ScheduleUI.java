@@ -1,26 +1,40 @@
 package com.datify.scheduler.ui;
 
 import com.datify.scheduler.config.CostConfig;
+import com.datify.scheduler.config.PlanningHorizon;
 import com.datify.scheduler.config.SchedulerConfig;
 import com.datify.scheduler.model.Placement;
 import com.datify.scheduler.model.ScheduleState;
 import com.datify.scheduler.model.Task;
 import com.datify.scheduler.parser.LLMTaskSeeder;
+import com.datify.scheduler.planner.FeasibilityPresolver;
+import com.datify.scheduler.planner.InfeasibleScheduleException;
 import com.datify.scheduler.planner.SchedulePlanner;
+import com.datify.scheduler.planner.SearchMonitor;
+import com.datify.scheduler.planner.cache.ScheduleCache;
 import com.datify.scheduler.planner.strategy.AStarStrategy;
+import com.datify.scheduler.planner.strategy.AdaptiveStrategy;
 import com.datify.scheduler.planner.strategy.BacktrackingStrategy;
+import com.datify.scheduler.planner.strategy.DynamicProgrammingStrategy;
+import com.datify.scheduler.planner.strategy.GreedyStrategy;
 import com.datify.scheduler.planner.strategy.IPlanningStrategy;
+import com.datify.scheduler.planner.strategy.PortfolioStrategy;
+import com.datify.scheduler.planner.strategy.RollingHorizonStrategy;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.event.TableModelEvent;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.time.DayOfWeek;
-import java.time.LocalTime;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Whole class generated by LLM due to time constraints
@@ -28,10 +42,6 @@ import java.util.UUID;
 
 @Slf4j
 public class ScheduleUI extends JFrame {
-    private static final String[] COLUMN_NAMES = {
-            "Time", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
-    };
-
     private static final Color[] TASK_COLORS = {
             new Color(173, 216, 230),
             new Color(144, 238, 144),
@@ -44,16 +54,37 @@ public class ScheduleUI extends JFrame {
 
     private static final String BACKTRACKING_STRATEGY = "Backtracking";
     private static final String ASTAR_STRATEGY = "A*";
+    private static final String GREEDY_STRATEGY = "Greedy";
+    private static final String PORTFOLIO_STRATEGY = "Portfolio";
     private static final String SOURCE_GEMINI = "Gemini API";
     private static final String SOURCE_HARDCODED = "Hardcoded";
+    private static final String HORIZON_WEEK = "One week";
+    private static final String HORIZON_MONTH = "4 weeks (rolling)";
+    private static final String HORIZON_QUARTER = "13 weeks (rolling)";
+    private static final int ROLLING_WINDOW_DAYS = 14;
+    private static final int ROLLING_COMMIT_DAYS = 7;
+    private static final long ROLLING_TIME_BUDGET_MS = 10000;
+    private static final long PORTFOLIO_RESTART_SEED = 1;
+    private static final int DP_TASK_THRESHOLD = 8;
+    private static final int SCHEDULE_CACHE_SIZE = 16;
+    private static final int PROGRESS_REFRESH_MS = 250;
+    private static final String[] GRANULARITY_OPTIONS = {"15 min", "30 min", "60 min"};
 
     private JTable scheduleTable;
-    private DefaultTableModel tableModel;
+    private ScheduleTableModel tableModel;
     private final Map<UUID, Color> taskColors;
+    private final ScheduleCache scheduleCache = new ScheduleCache(SCHEDULE_CACHE_SIZE);
+    private final Map<String, SchedulePlanner> planners = new ConcurrentHashMap<>();
     private JComboBox<String> strategyComboBox;
     private JComboBox<String> taskSourceComboBox;
+    private JComboBox<String> granularityComboBox;
+    private JComboBox<String> horizonComboBox;
     private JButton recomputeButton;
+    private JButton acceptButton;
     private JLabel statusLabel;
+    private Timer progressTimer;
+    private volatile SearchMonitor activeMonitor;
+    private ScheduleState lastRenderedSchedule;
     private ScheduleState initialScheduleState;
     private Map<UUID, Task> originalTasks;
 
@@ -71,29 +102,21 @@ public class ScheduleUI extends JFrame {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLayout(new BorderLayout());
 
-        tableModel = new DefaultTableModel(COLUMN_NAMES, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+        tableModel = new ScheduleTableModel();
+        tableModel.addTableModelListener(e -> {
+            if (e.getFirstRow() == TableModelEvent.HEADER_ROW) {
+                SwingUtilities.invokeLater(this::applyColumnWidths);
             }
-        };
-
-        for (int hour = 8; hour <= 20; hour++) {
-            for (int minute = 0; minute < 60; minute += 30) {
-                String timeSlot = String.format("%02d:%02d", hour, minute);
-                tableModel.addRow(new Object[]{timeSlot, "", "", "", "", "", "", ""});
-            }
-        }
+        });
 
         scheduleTable = new JTable(tableModel);
         scheduleTable.setRowHeight(25);
         scheduleTable.setGridColor(Color.LIGHT_GRAY);
-        scheduleTable.setDefaultRenderer(Object.class, new TaskCellRenderer());
-
-        scheduleTable.getColumnModel().getColumn(0).setPreferredWidth(80);
-        for (int i = 1; i < COLUMN_NAMES.length; i++) {
-            scheduleTable.getColumnModel().getColumn(i).setPreferredWidth(120);
-        }
+        TaskCellRenderer renderer = new TaskCellRenderer();
+        scheduleTable.setDefaultRenderer(Object.class, renderer);
+        scheduleTable.setDefaultRenderer(String.class, renderer);
+        scheduleTable.setDefaultRenderer(Placement.class, renderer);
+        applyColumnWidths();
 
         JScrollPane scrollPane = new JScrollPane(scheduleTable);
         add(scrollPane, BorderLayout.CENTER);
@@ -101,10 +124,21 @@ public class ScheduleUI extends JFrame {
         JPanel controlPanel = createControlPanel();
         add(controlPanel, BorderLayout.SOUTH);
 
+        progressTimer = new Timer(PROGRESS_REFRESH_MS, e -> refreshProgress());
+        progressTimer.setCoalesce(true);
+
         setSize(900, 700);
         setLocationRelativeTo(null);
     }
 
+    private void applyColumnWidths() {
+        scheduleTable.getColumnModel().getColumn(0).setPreferredWidth(80);
+        for (int i = 1; i < tableModel.getColumnCount(); i++) {
+            scheduleTable.getColumnModel().getColumn(i).setPreferredWidth(tableModel.getWeeks() == 1 ? 120 : 90);
+        }
+        scheduleTable.setAutoResizeMode(tableModel.getWeeks() == 1 ? JTable.AUTO_RESIZE_ALL_COLUMNS : JTable.AUTO_RESIZE_OFF);
+    }
+
     private JPanel createControlPanel() {
         JPanel controlPanel = new JPanel(new GridBagLayout());
         GridBagConstraints gbc = new GridBagConstraints();
@@ -116,8 +150,8 @@ public class ScheduleUI extends JFrame {
         controlPanel.add(new JLabel("Planning Strategy:"), gbc);
 
         gbc.gridx = 1;
-        strategyComboBox = new JComboBox<>(new String[]{BACKTRACKING_STRATEGY, ASTAR_STRATEGY});
-        strategyComboBox.setSelectedItem(BACKTRACKING_STRATEGY);
+        strategyComboBox = new JComboBox<>(new String[]{PORTFOLIO_STRATEGY, BACKTRACKING_STRATEGY, ASTAR_STRATEGY, GREEDY_STRATEGY});
+        strategyComboBox.setSelectedItem(PORTFOLIO_STRATEGY);
         controlPanel.add(strategyComboBox, gbc);
 
         gbc.gridx = 2;
@@ -128,6 +162,23 @@ public class ScheduleUI extends JFrame {
         taskSourceComboBox.setSelectedItem(SOURCE_HARDCODED);
         controlPanel.add(taskSourceComboBox, gbc);
 
+        gbc.gridx = 4;
+        controlPanel.add(new JLabel("Rows:"), gbc);
+
+        gbc.gridx = 5;
+        granularityComboBox = new JComboBox<>(GRANULARITY_OPTIONS);
+        granularityComboBox.setSelectedItem("30 min");
+        granularityComboBox.addActionListener(e -> tableModel.setGranularityMinutes(selectedGranularityMinutes()));
+        controlPanel.add(granularityComboBox, gbc);
+
+        gbc.gridx = 6;
+        controlPanel.add(new JLabel("Horizon:"), gbc);
+
+        gbc.gridx = 7;
+        horizonComboBox = new JComboBox<>(new String[]{HORIZON_WEEK, HORIZON_MONTH, HORIZON_QUARTER});
+        horizonComboBox.setSelectedItem(HORIZON_WEEK);
+        controlPanel.add(horizonComboBox, gbc);
+
         gbc.gridx = 0;
         gbc.gridy = 1;
         recomputeButton = new JButton("Recompute Schedule");
@@ -140,20 +191,63 @@ public class ScheduleUI extends JFrame {
         clearButton.addActionListener(e -> clearSchedule());
         controlPanel.add(clearButton, gbc);
 
+        gbc.gridx = 2;
+        acceptButton = new JButton("Accept Current Best");
+        acceptButton.setEnabled(false);
+        acceptButton.addActionListener(e -> {
+            SearchMonitor monitor = activeMonitor;
+            if (monitor != null) monitor.cancel();
+        });
+        controlPanel.add(acceptButton, gbc);
+
         statusLabel = new JLabel("Ready");
         statusLabel.setForeground(Color.BLUE);
-        gbc.gridx = 2;
-        gbc.gridwidth = 2;
+        gbc.gridx = 3;
+        gbc.gridwidth = 3;
         gbc.fill = GridBagConstraints.HORIZONTAL;
         controlPanel.add(statusLabel, gbc);
 
         return controlPanel;
     }
 
+    private int selectedGranularityMinutes() {
+        String selected = (String) granularityComboBox.getSelectedItem();
+        return Integer.parseInt(selected.substring(0, selected.indexOf(' ')));
+    }
+
+    private SearchMonitor startProgressUpdates() {
+        SearchMonitor monitor = new SearchMonitor();
+        activeMonitor = monitor;
+        lastRenderedSchedule = null;
+        acceptButton.setEnabled(true);
+        progressTimer.start();
+        return monitor;
+    }
+
+    private void stopProgressUpdates() {
+        progressTimer.stop();
+        activeMonitor = null;
+        acceptButton.setEnabled(false);
+    }
+
+    private void refreshProgress() {
+        SearchMonitor monitor = activeMonitor;
+        if (monitor == null) return;
+
+        ScheduleState best = monitor.getBestSchedule();
+        if (best != null && best != lastRenderedSchedule) {
+            lastRenderedSchedule = best;
+            displaySchedule(best);
+        }
+        statusLabel.setText(String.format("Searching: %,d nodes, best cost %s, %.1fs",
+                monitor.getNodesExplored(), best != null ? best.costSoFar() : "-", monitor.getElapsedMs() / 1000.0));
+    }
+
     private void startInitialScheduling() {
         recomputeButton.setEnabled(false);
         statusLabel.setText("Computing initial schedule...");
         statusLabel.setForeground(Color.ORANGE);
+        SearchMonitor monitor = startProgressUpdates();
 
         SwingWorker<ScheduleState, Void> worker = new SwingWorker<>() {
             @Override
@@ -161,15 +255,12 @@ public class ScheduleUI extends JFrame {
                 originalTasks = LLMTaskSeeder.seedHardcodedTasks();
                 initialScheduleState = new ScheduleState(new HashMap<>(), new HashMap<>(originalTasks), 0, 0);
 
-                IPlanningStrategy strategy = new BacktrackingStrategy(
-                        SchedulerConfig.defaultConfig(), CostConfig.defaultConfig()
-                );
-
-                return new SchedulePlanner(strategy).beginPlanning(initialScheduleState);
+                return plannerFor(BACKTRACKING_STRATEGY, HORIZON_WEEK).beginPlanning(initialScheduleState, monitor);
             }
 
             @Override
             protected void done() {
+                stopProgressUpdates();
                 try {
                     ScheduleState schedule = get();
                     if (schedule != null) displaySchedule(schedule);
@@ -187,18 +278,33 @@ public class ScheduleUI extends JFrame {
     }
 
     public void displaySchedule(ScheduleState scheduleState) {
-        clearSchedule();
+        taskColors.clear();
         assignTaskColors(scheduleState.placedTasks().values());
+        updateCalendar(scheduleState.placedTasks().values());
+        tableModel.setPlacements(scheduleState.placedTasks().values());
 
-        for (Placement placement : scheduleState.placedTasks().values()) {
-            placeTaskInSchedule(placement);
-        }
-
-        scheduleTable.repaint();
         statusLabel.setText(String.format("Schedule loaded: %d tasks placed",
                 scheduleState.placedTasks().size()));
     }
 
+    private void updateCalendar(Iterable<Placement> placements) {
+        LocalDate first = null;
+        LocalDate last = null;
+        for (Placement placement : placements) {
+            LocalDate date = placement.timeSlot().date();
+            if (date == null) continue;
+            if (first == null || date.isBefore(first)) first = date;
+            if (last == null || date.isAfter(last)) last = date;
+        }
+
+        if (first == null) {
+            tableModel.setCalendar(null, 1);
+        } else {
+            LocalDate firstMonday = first.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            tableModel.setCalendar(firstMonday, (int) ((last.toEpochDay() - firstMonday.toEpochDay()) / 7) + 1);
+        }
+    }
+
     private void assignTaskColors(Iterable<Placement> placements) {
         int colorIndex = 0;
         for (Placement placement : placements) {
@@ -210,50 +316,80 @@ public class ScheduleUI extends JFrame {
         }
     }
 
-    private void placeTaskInSchedule(Placement placement) {
-        int dayColumn = getDayColumn(placement.timeSlot().dayOfWeek());
-        if (dayColumn == -1) return;
-
-        LocalTime startTime = placement.timeSlot().start();
-        LocalTime endTime = placement.timeSlot().end();
-
-        int startRow = getRowForTime(startTime);
-        int endRow = getRowForTime(endTime);
-        if (startRow == -1 || endRow == -1) return;
+    private void clearSchedule() {
+        tableModel.clear();
+        taskColors.clear();
+    }
 
-        for (int row = startRow; row < endRow; row++) {
-            tableModel.setValueAt(placement, row, dayColumn);
+    /**
+     * Planners hold no per-run state and are reused across runs; dated horizons start next Monday, so
+     * the key includes today's date and planners of earlier days are dropped once a new one is needed.
+     */
+    private SchedulePlanner plannerFor(String strategyName, String horizonName) {
+        LocalDate today = LocalDate.now();
+        String key = strategyName + "|" + horizonName + "|" + today;
+        if (!planners.containsKey(key)) {
+            planners.keySet().removeIf(existing -> !existing.endsWith("|" + today));
         }
+        return planners.computeIfAbsent(key, k -> {
+            SchedulerConfig schedulerConfig = schedulerConfigFor(horizonName, today);
+            return new SchedulePlanner(createStrategy(strategyName, schedulerConfig), scheduleCache,
+                    new FeasibilityPresolver(schedulerConfig));
+        });
     }
 
-    private int getDayColumn(DayOfWeek dayOfWeek) {
-        return switch (dayOfWeek) {
-            case MONDAY -> 1;
-            case TUESDAY -> 2;
-            case WEDNESDAY -> 3;
-            case THURSDAY -> 4;
-            case FRIDAY -> 5;
-            case SATURDAY -> 6;
-            case SUNDAY -> 7;
+    private SchedulerConfig schedulerConfigFor(String horizonName, LocalDate today) {
+        int weeks = switch (horizonName) {
+            case HORIZON_MONTH -> 4;
+            case HORIZON_QUARTER -> 13;
+            default -> 0;
         };
+        if (weeks == 0) {
+            return SchedulerConfig.defaultConfig();
+        }
+        return SchedulerConfig.defaultConfig()
+                .withHorizon(PlanningHorizon.weeksFromNextMonday(today, weeks))
+                .withMaxTimeMs(ROLLING_TIME_BUDGET_MS);
     }
 
-    private int getRowForTime(LocalTime time) {
-        int hour = time.getHour();
-        int minute = time.getMinute();
-        if (hour < 8 || hour > 20) return -1;
-        int baseRow = (hour - 8) * 2;
-        if (minute >= 30) baseRow++;
-        return Math.min(baseRow, tableModel.getRowCount() - 1);
+    private IPlanningStrategy createStrategy(String strategyName, SchedulerConfig schedulerConfig) {
+        CostConfig costConfig = CostConfig.defaultConfig();
+        if (schedulerConfig.horizon() == null) {
+            return createWindowStrategy(strategyName, schedulerConfig, costConfig);
+        }
+        return new RollingHorizonStrategy(schedulerConfig, costConfig, ROLLING_WINDOW_DAYS, ROLLING_COMMIT_DAYS,
+                windowConfig -> createWindowStrategy(strategyName, windowConfig, costConfig));
     }
 
-    private void clearSchedule() {
-        for (int row = 0; row < tableModel.getRowCount(); row++) {
-            for (int col = 1; col < tableModel.getColumnCount(); col++) {
-                tableModel.setValueAt("", row, col);
+    private IPlanningStrategy createWindowStrategy(String strategyName, SchedulerConfig schedulerConfig, CostConfig costConfig) {
+        GreedyStrategy greedy = new GreedyStrategy(schedulerConfig, costConfig);
+
+        return switch (strategyName) {
+            case ASTAR_STRATEGY -> createAStar(schedulerConfig, costConfig, greedy, Runtime.getRuntime().availableProcessors());
+            case GREEDY_STRATEGY -> greedy;
+            case PORTFOLIO_STRATEGY -> {
+                IPlanningStrategy portfolio = new PortfolioStrategy(List.of(
+                        new BacktrackingStrategy(schedulerConfig, costConfig, greedy),
+                        new BacktrackingStrategy.BacktrackingBuilder(schedulerConfig, costConfig)
+                                .warmStart(greedy).restarts(PORTFOLIO_RESTART_SEED).build(),
+                        createAStar(schedulerConfig, costConfig, greedy, 1)),
+                        schedulerConfig.maxTimeMs());
+                yield DynamicProgrammingStrategy.supports(schedulerConfig, costConfig)
+                        ? new AdaptiveStrategy(new DynamicProgrammingStrategy(schedulerConfig, costConfig, greedy), portfolio, DP_TASK_THRESHOLD)
+                        : portfolio;
             }
-        }
-        taskColors.clear();
+            case BACKTRACKING_STRATEGY -> new BacktrackingStrategy(schedulerConfig, costConfig, greedy);
+            default -> new BacktrackingStrategy(schedulerConfig, costConfig, greedy);
+        };
+    }
+
+    private IPlanningStrategy createAStar(SchedulerConfig schedulerConfig, CostConfig costConfig, IPlanningStrategy warmStart,
+                                          int threads) {
+        return new AStarStrategy.AStarBuilder(schedulerConfig, costConfig)
+                .warmStart(warmStart)
+                .expansionOrder(AStarStrategy.ExpansionOrder.MRV)
+                .threads(threads)
+                .build();
     }
 
     private class RecomputeActionListener implements java.awt.event.ActionListener {
@@ -269,14 +405,13 @@ public class ScheduleUI extends JFrame {
             recomputeButton.setEnabled(false);
             statusLabel.setText("Computing schedule...");
             statusLabel.setForeground(Color.ORANGE);
+            SearchMonitor monitor = startProgressUpdates();
 
             SwingWorker<ScheduleState, Void> worker = new SwingWorker<>() {
                 @Override
                 protected ScheduleState doInBackground() {
-                    String selectedStrategy = (String) strategyComboBox.getSelectedItem();
-                    IPlanningStrategy strategy = createStrategy(selectedStrategy);
-
-                    SchedulePlanner planner = new SchedulePlanner(strategy);
+                    SchedulePlanner planner = plannerFor((String) strategyComboBox.getSelectedItem(),
+                            (String) horizonComboBox.getSelectedItem());
 
                     String source = (String) taskSourceComboBox.getSelectedItem();
                     Map<UUID, Task> tasks;
@@ -296,11 +431,12 @@ public class ScheduleUI extends JFrame {
                             new HashMap<>(tasks),
                             0,
                             0
-                    ));
+                    ), monitor);
                 }
 
                 @Override
                 protected void done() {
+                    stopProgressUpdates();
                     try {
                         ScheduleState result = get();
                         if (result != null && !result.placedTasks().isEmpty()) {
@@ -313,7 +449,9 @@ public class ScheduleUI extends JFrame {
                             statusLabel.setForeground(Color.RED);
                         }
                     } catch (Exception ex) {
-                        statusLabel.setText("Error during recomputation: " + ex.getMessage());
+                        statusLabel.setText(ex.getCause() instanceof InfeasibleScheduleException infeasible
+                                ? "No schedule possible: " + infeasible.getMessage()
+                                : "Error during recomputation: " + ex.getMessage());
                         statusLabel.setForeground(Color.RED);
                         log.error("Error during recomputation", ex);
                     } finally {
@@ -323,43 +461,31 @@ public class ScheduleUI extends JFrame {
             };
             worker.execute();
         }
-
-        private IPlanningStrategy createStrategy(String strategyName) {
-            SchedulerConfig schedulerConfig = SchedulerConfig.defaultConfig();
-            CostConfig costConfig = CostConfig.defaultConfig();
-
-            return switch (strategyName) {
-                case ASTAR_STRATEGY -> new AStarStrategy(schedulerConfig, costConfig);
-                case BACKTRACKING_STRATEGY -> new BacktrackingStrategy(schedulerConfig, costConfig);
-                default -> new BacktrackingStrategy(schedulerConfig, costConfig);
-            };
-        }
     }
 
     private class TaskCellRenderer extends DefaultTableCellRenderer {
+        private static final Border CELL_BORDER = BorderFactory.createLineBorder(Color.GRAY);
+
         @Override
         public Component getTableCellRendererComponent(JTable table, Object value,
                                                        boolean isSelected, boolean hasFocus, int row, int column) {
-            Component component = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            setForeground(Color.BLACK);
 
             if (column == 0) {
-                component.setBackground(Color.WHITE);
-                component.setForeground(Color.BLACK);
+                setBackground(Color.WHITE);
                 setHorizontalAlignment(SwingConstants.CENTER);
             } else if (value instanceof Placement placement) {
-                UUID id = placement.task().getId();
-                component.setBackground(taskColors.getOrDefault(id, Color.LIGHT_GRAY));
-                component.setForeground(Color.BLACK);
+                setBackground(taskColors.getOrDefault(placement.task().getId(), Color.LIGHT_GRAY));
                 setText(placement.task().getName());
                 setHorizontalAlignment(SwingConstants.LEFT);
             } else {
-                component.setBackground(Color.WHITE);
-                component.setForeground(Color.BLACK);
+                setBackground(Color.WHITE);
                 setText("");
             }
 
-            setBorder(BorderFactory.createLineBorder(Color.GRAY));
-            return component;
+            setBorder(CELL_BORDER);
+            return this;
         }
     }
 }
@@ -1,71 +1,150 @@
 package com.datify.scheduler.util;
 
+import com.datify.scheduler.config.SchedulerConfig;
+import com.datify.scheduler.model.DependencyIndex;
 import com.datify.scheduler.model.Task;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
 
 @Slf4j
 public class TaskValidator {
     public static boolean hasCircularDependencies(Map<UUID, Task> tasks) {
-        Set<UUID> visiting = new HashSet<>();
-        Set<UUID> visited = new HashSet<>();
+        DependencyIndex index = DependencyIndex.of(tasks.values());
+        if (index.isAcyclic()) {
+            return false;
+        }
 
-        for (UUID taskId : tasks.keySet()) {
-            if (!visited.contains(taskId)) {
-                if (hasCircularDependencyDFS(taskId, tasks, visiting, visited)) {
-                    return true;
-                }
+        for (int task = 0; task < index.size(); task++) {
+            if (index.topologicalPosition(task) < 0) {
+                log.error("Circular dependency detected involving task: {}", index.task(task).getName());
+                break;
             }
         }
+        return true;
+    }
 
+    public static boolean hasInvalidIdealTimeWindows(Map<UUID, Task> tasks) {
+        for (Task task : tasks.values()) {
+            if (!fitsIdealTimeWindow(task)) {
+                log.error("Task {} duration {} does not fit into any ideal time window: {}",
+                        task.getName(), task.getDuration(), task.getIdealTimeWindows());
+                return true;
+            }
+        }
         return false;
     }
 
-    private static boolean hasCircularDependencyDFS(UUID taskId, Map<UUID, Task> tasks, Set<UUID> visiting, Set<UUID> visited) {
-        if (visiting.contains(taskId)) {
-            log.error("Circular dependency detected involving task: {}",
-                    tasks.get(taskId) != null ? tasks.get(taskId).getName() : taskId);
-            return true;
-        }
+    /**
+     * Collects every problem in one pass instead of stopping at the first: all dependency cycles (one issue
+     * per strongly connected component), missing dependency IDs, ideal windows too short for the task and
+     * tasks longer than the work day. Per-task checks run in parallel over the task set.
+     */
+    public static ValidationReport validate(Map<UUID, Task> tasks, SchedulerConfig schedulerConfig) {
+        long startTime = System.currentTimeMillis();
+        DependencyIndex index = DependencyIndex.of(tasks.values());
+        long workDayMinutes = schedulerConfig.workDayMinutes();
 
-        if (visited.contains(taskId)) {
-            return false;
-        }
+        List<ValidationIssue> issues = new ArrayList<>(findCycles(index));
+        issues.addAll(tasks.values().parallelStream()
+                .flatMap(task -> checkTask(task, index, workDayMinutes).stream())
+                .toList());
 
-        visiting.add(taskId);
+        ValidationReport report = new ValidationReport(issues);
+        log.info("Validated {} tasks in {}ms: {} issues", tasks.size(), System.currentTimeMillis() - startTime, issues.size());
+        return report;
+    }
 
-        Task task = tasks.get(taskId);
-        if (task != null) {
-            for (UUID dependencyId : task.getDependencyIds()) {
-                if (hasCircularDependencyDFS(dependencyId, tasks, visiting, visited)) {
-                    return true;
-                }
-            }
+    private static List<ValidationIssue> checkTask(Task task, DependencyIndex index, long workDayMinutes) {
+        List<ValidationIssue> issues = new ArrayList<>(0);
+        Set<UUID> missing = index.missingDependencyIds(index.indexOf(task.getId()));
+        if (!missing.isEmpty()) {
+            issues.add(new ValidationIssue(ValidationIssue.Type.MISSING_DEPENDENCY, List.of(task.getId()),
+                    "Task " + task.getName() + " depends on unknown tasks " + missing));
         }
+        if (!fitsIdealTimeWindow(task)) {
+            issues.add(new ValidationIssue(ValidationIssue.Type.IDEAL_WINDOW_TOO_SHORT, List.of(task.getId()),
+                    "Task " + task.getName() + " duration " + task.getDuration() + " does not fit into any ideal time window"));
+        }
+        if (task.getDuration().toMinutes() > workDayMinutes) {
+            issues.add(new ValidationIssue(ValidationIssue.Type.LONGER_THAN_WORK_DAY, List.of(task.getId()),
+                    "Task " + task.getName() + " duration " + task.getDuration() + " exceeds the " + workDayMinutes + " minute work day"));
+        }
+        return issues;
+    }
 
-        visiting.remove(taskId);
-        visited.add(taskId);
-
-        return false;
+    private static boolean fitsIdealTimeWindow(Task task) {
+        return task.getIdealTimeWindows().isEmpty() || task.getIdealTimeWindows().stream()
+                .anyMatch(slot -> Duration.between(slot.start(), slot.end()).compareTo(task.getDuration()) >= 0);
     }
 
-    public static boolean hasInvalidIdealTimeWindows(Map<UUID, Task> tasks) {
-        for (Task task : tasks.values()) {
-            if (!task.getIdealTimeWindows().isEmpty()) {
-                boolean fitsInAny = task.getIdealTimeWindows().stream()
-                        .anyMatch(slot -> Duration.between(slot.start(), slot.end()).compareTo(task.getDuration()) >= 0);
-                if (!fitsInAny) {
-                    log.error("Task {} duration {} does not fit into any ideal time window: {}",
-                            task.getName(), task.getDuration(), task.getIdealTimeWindows());
-                    return true;
+    /**
+     * Iterative Tarjan SCC over the dependency edges; every component with more than one task, or a task
+     * depending on itself, is a cycle.
+     */
+    private static List<ValidationIssue> findCycles(DependencyIndex index) {
+        int n = index.size();
+        int[] order = new int[n];
+        int[] low = new int[n];
+        Arrays.fill(order, -1);
+        boolean[] onStack = new boolean[n];
+        int[] componentStack = new int[n];
+        int[] callNode = new int[n];
+        int[] callEdge = new int[n];
+        int counter = 0;
+        int stackSize = 0;
+        List<ValidationIssue> cycles = new ArrayList<>();
+
+        for (int root = 0; root < n; root++) {
+            if (order[root] != -1) continue;
+
+            int depth = 0;
+            callNode[0] = root;
+            callEdge[0] = 0;
+            order[root] = low[root] = counter++;
+            componentStack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int node = callNode[depth];
+                int[] edges = index.dependencies(node);
+                if (callEdge[depth] < edges.length) {
+                    int next = edges[callEdge[depth]++];
+                    if (order[next] == -1) {
+                        order[next] = low[next] = counter++;
+                        componentStack[stackSize++] = next;
+                        onStack[next] = true;
+                        depth++;
+                        callNode[depth] = next;
+                        callEdge[depth] = 0;
+                    } else if (onStack[next]) {
+                        low[node] = Math.min(low[node], order[next]);
+                    }
+                    continue;
+                }
+
+                if (low[node] == order[node]) {
+                    List<UUID> component = new ArrayList<>();
+                    int member;
+                    do {
+                        member = componentStack[--stackSize];
+                        onStack[member] = false;
+                        component.add(index.task(member).getId());
+                    } while (member != node);
+
+                    if (component.size() > 1 || Arrays.binarySearch(edges, node) >= 0) {
+                        cycles.add(new ValidationIssue(ValidationIssue.Type.DEPENDENCY_CYCLE, component,
+                                "Circular dependency between " + component.size() + " tasks including " + index.task(node).getName()));
+                    }
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNode[depth];
+                    low[parent] = Math.min(low[parent], low[node]);
                 }
             }
         }
-        return false;
+        return cycles;
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.datify.scheduler.util;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ValidationIssue(Type type, List<UUID> taskIds, String message) {
+
+    public enum Type {
+        DEPENDENCY_CYCLE,
+        MISSING_DEPENDENCY,
+        IDEAL_WINDOW_TOO_SHORT,
+        LONGER_THAN_WORK_DAY,
+        OVER_CAPACITY,
+        CRITICAL_PATH_TOO_LONG
+    }
+
+    public ValidationIssue {
+        if (type == null) throw new IllegalArgumentException("type must not be null");
+        taskIds = List.copyOf(taskIds);
+    }
+}
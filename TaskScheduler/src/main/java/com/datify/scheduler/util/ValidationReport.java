@@ -0,0 +1,18 @@
+package com.datify.scheduler.util;
+
+import java.util.List;
+
+public record ValidationReport(List<ValidationIssue> issues) {
+
+    public ValidationReport {
+        issues = List.copyOf(issues);
+    }
+
+    public boolean isValid() {
+        return issues.isEmpty();
+    }
+
+    public List<ValidationIssue> issuesOf(ValidationIssue.Type type) {
+        return issues.stream().filter(issue -> issue.type() == type).toList();
+    }
+}